@@ -0,0 +1,134 @@
+package model;
+
+import java.util.*;
+
+/*
+Encrypts many independent messages, each with its own compiled Enigma
+machine, in lock-step: every stage of the machine (plugboard, each rotor,
+inverter) is applied to the current symbol of all messages before the next
+stage. The tables of all machines are laid out one after another in flat
+int arrays, so each stage is one gather per message over a single array.
+This class should contain the following information:
+    1. The plugboard, inverter and rotor tables of every machine (lane)
+    2. The rotation of every rotor of every machine
+Notice: all machines need the same number of inputs and the same number of
+        rotors; the machines given are not changed.
+ */
+public class BatchEnigma {
+
+    // Number of machines
+    private final int lanes;
+    // Number of possible inputs/outputs of every machine
+    private final int size;
+    // Number of rotors of every machine
+    private final int rotors;
+    // Plugboard table of lane l starts at l * size
+    private final int[] plugboards;
+    // Inverter table of lane l starts at l * size
+    private final int[] inverters;
+    // Table of rotor k of lane l starts at (l * rotors + k) * size
+    private final int[] rotorWirings;
+    // Rotation of rotor k of lane l is at l * rotors + k
+    private final int[] rotations;
+    // Notch flags of rotor k of lane l are at l * rotors + k
+    private final boolean[][] notchTables;
+    // Stepping policy of lane l
+    private final SteppingPolicy[] stepping;
+
+    // REQUIRES: machines is not empty, every machine has the same size and number of rotors
+    // EFFECTS: make a batch with one lane per machine, at each machine's current rotations
+    public BatchEnigma(List<CompiledEnigma> machines) {
+        this.lanes = machines.size();
+        this.size = machines.get(0).getSize();
+        this.rotors = machines.get(0).getRotations().length;
+        this.plugboards = new int[lanes * size];
+        this.inverters = new int[lanes * size];
+        this.rotorWirings = new int[lanes * rotors * size];
+        this.rotations = new int[lanes * rotors];
+        this.notchTables = new boolean[lanes * rotors][];
+        this.stepping = new SteppingPolicy[lanes];
+        for (int l = 0; l < lanes; l += 1) {
+            EnigmaConfig config = machines.get(l).getConfig();
+            System.arraycopy(config.getPlugboardTable(), 0, plugboards, l * size, size);
+            System.arraycopy(config.getInverterTable(), 0, inverters, l * size, size);
+            for (int k = 0; k < rotors; k += 1) {
+                System.arraycopy(config.getRotorTables()[k], 0, rotorWirings, (l * rotors + k) * size, size);
+            }
+            System.arraycopy(machines.get(l).getRotations(), 0, rotations, l * rotors, rotors);
+            System.arraycopy(config.getNotchTables(), 0, notchTables, l * rotors, rotors);
+            stepping[l] = config.getSteppingPolicy();
+        }
+    }
+
+    // REQUIRES: messages.length is the number of lanes, every index is in [0, size)
+    // MODIFIES: this
+    // EFFECTS: encrypt messages[l] with the machine of lane l, for every lane,
+    //          and return the encrypted messages in the same order
+    public int[][] encrypt(int[][] messages) {
+        int[][] outputs = new int[lanes][];
+        Integer[] order = new Integer[lanes];
+        for (int l = 0; l < lanes; l += 1) {
+            outputs[l] = new int[messages[l].length];
+            order[l] = l;
+        }
+        // Longest messages first, so the lanes still running are always a prefix of order
+        Arrays.sort(order, (a, b) -> messages[b].length - messages[a].length);
+        int[] active = new int[lanes];
+        int[] signals = new int[lanes];
+        int count = lanes;
+        for (int t = 0; count > 0; t += 1) {
+            while (count > 0 && messages[order[count - 1]].length <= t) {
+                count -= 1;
+            }
+            for (int i = 0; i < count; i += 1) {
+                active[i] = order[i];
+            }
+            encryptStep(messages, outputs, active, signals, count, t);
+        }
+        return outputs;
+    }
+
+    // REQUIRES: active[0 .. count - 1] are lanes whose messages are longer than t
+    // MODIFIES: this, outputs, signals
+    // EFFECTS: encrypt symbol t of each active lane, stage by stage, then rotate their rotors
+    private void encryptStep(int[][] messages, int[][] outputs, int[] active, int[] signals, int count, int t) {
+        for (int i = 0; i < count; i += 1) {
+            signals[i] = plugboards[active[i] * size + messages[active[i]][t]];
+        }
+        for (int k = 0; k < rotors; k += 1) {
+            passThroughRotors(active, signals, count, k);
+        }
+        for (int i = 0; i < count; i += 1) {
+            signals[i] = inverters[active[i] * size + signals[i]];
+        }
+        for (int k = rotors - 1; k >= 0; k -= 1) {
+            passThroughRotors(active, signals, count, k);
+        }
+        for (int i = 0; i < count; i += 1) {
+            outputs[active[i]][t] = plugboards[active[i] * size + signals[i]];
+            stepping[active[i]].step(rotations, active[i] * rotors, rotors, size, notchTables);
+        }
+    }
+
+    // MODIFIES: signals
+    // EFFECTS: pass the signal of each active lane through rotor k of that lane
+    private void passThroughRotors(int[] active, int[] signals, int count, int k) {
+        for (int i = 0; i < count; i += 1) {
+            int rotor = active[i] * rotors + k;
+            int rotation = rotations[rotor];
+            int output = rotorWirings[rotor * size + (signals[i] + rotation) % size] - rotation;
+            signals[i] = output < 0 ? output + size : output;
+        }
+    }
+
+    // REQUIRES: 0 <= lane < getLanes()
+    // EFFECTS: return the current rotations of the machine of lane
+    public int[] getRotations(int lane) {
+        return Arrays.copyOfRange(rotations, lane * rotors, (lane + 1) * rotors);
+    }
+
+    // EFFECTS: return the number of lanes
+    public int getLanes() {
+        return this.lanes;
+    }
+}
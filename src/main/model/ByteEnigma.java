@@ -0,0 +1,95 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashSet;
+
+/*
+An Enigma machine over the full byte alphabet, 0 to 255. It is built from
+an Enigma whose possible inputs are the 256 ISO-8859-1 characters, so it
+has the same plugboard, rotors and inverter, and encrypts bytes in place
+without creating any object per byte.
+This class should contain the following information:
+    1. The compiled machine that encrypts the codes
+    2. The code of each byte value, and the byte value of each code
+ */
+public class ByteEnigma {
+
+    // Number of byte values
+    private static final int BYTE_VALUES = 256;
+
+    // The machine that encrypts the codes
+    private final CompiledEnigma enigma;
+    // Code of each byte value
+    private final int[] byteToCode = new int[BYTE_VALUES];
+    // Byte value of each code
+    private final byte[] codeToByte = new byte[BYTE_VALUES];
+
+    // EFFECTS: make a byte machine from the current setting of enigma; throws
+    //          IllegalArgumentException if its possible inputs are not exactly the strings
+    //          in byteAlphabet()
+    public ByteEnigma(Enigma enigma) {
+        this(enigma.compile());
+    }
+
+    // EFFECTS: make a byte machine that encrypts through enigma; throws
+    //          IllegalArgumentException if its possible inputs are not exactly the strings
+    //          in byteAlphabet()
+    public ByteEnigma(CompiledEnigma enigma) {
+        this.enigma = enigma;
+        SymbolCodec codec = enigma.getCodec();
+        if (codec.size() != BYTE_VALUES) {
+            throw new IllegalArgumentException("A byte machine needs the " + BYTE_VALUES
+                    + " byte values as its inputs, not " + codec.size() + " inputs");
+        }
+        for (int b = 0; b < BYTE_VALUES; b += 1) {
+            byteToCode[b] = codec.encode((char) b);
+            if (byteToCode[b] == -1) {
+                throw new IllegalArgumentException("The byte " + b + " is not an input of the machine");
+            }
+            codeToByte[byteToCode[b]] = (byte) b;
+        }
+    }
+
+    // EFFECTS: return the 256 one-character strings of the ISO-8859-1 characters,
+    //          in byte order, to build an Enigma with
+    public static LinkedHashSet<String> byteAlphabet() {
+        LinkedHashSet<String> alphabet = new LinkedHashSet<>();
+        for (int b = 0; b < BYTE_VALUES; b += 1) {
+            alphabet.add(String.valueOf((char) b));
+        }
+        return alphabet;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: return b encrypted
+    public byte encrypt(byte b) {
+        return codeToByte[enigma.encrypt(byteToCode[b & 0xFF])];
+    }
+
+    // REQUIRES: 0 <= offset, offset + length <= bytes.length
+    // MODIFIES: this, bytes
+    // EFFECTS: encrypt length bytes of bytes in place, starting at offset
+    public void encrypt(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i += 1) {
+            bytes[i] = codeToByte[enigma.encrypt(byteToCode[bytes[i] & 0xFF])];
+        }
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: encrypt the bytes between the position and the limit of buffer in place;
+    //          the position and the limit are not changed
+    public void encrypt(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            encrypt(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        for (int i = buffer.position(); i < buffer.limit(); i += 1) {
+            buffer.put(i, codeToByte[enigma.encrypt(byteToCode[buffer.get(i) & 0xFF])]);
+        }
+    }
+
+    // EFFECTS: return the compiled machine that encrypts the codes
+    public CompiledEnigma getCompiledEnigma() {
+        return this.enigma;
+    }
+}
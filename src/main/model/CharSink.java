@@ -0,0 +1,11 @@
+package model;
+
+/*
+Receives the characters a TextStage passes on, one at a time.
+ */
+public interface CharSink {
+
+    // MODIFIES: this
+    // EFFECTS: take the next character
+    void put(char c);
+}
@@ -0,0 +1,71 @@
+package model;
+
+import java.util.*;
+
+/*
+Stepping by cog wheels of different sizes: every rotor rotates on every
+symbol, each by its own number of positions, so the rotors move at
+irregular speeds against each other with no carry between them.
+Notches are not used. Rotors after the last given cog do not rotate.
+ */
+public final class CogWheelStepping implements SeekableStepping {
+
+    // Number of positions each rotor rotates per symbol
+    private final int[] cogs;
+
+    // REQUIRES: every element of cogs >= 0
+    // EFFECTS: make a policy where rotor r rotates by cogs[r] positions per symbol
+    public CogWheelStepping(int... cogs) {
+        this.cogs = cogs.clone();
+    }
+
+    // EFFECTS: rotate every rotor by its cog, and return the index of the last rotor
+    //          that rotated, -1 if none did
+    @Override
+    public int step(int[] rotations, int from, int count, int size, boolean[][] notches) {
+        int last = -1;
+        for (int r = 0; r < count && r < cogs.length; r += 1) {
+            if (cogs[r] % size != 0) {
+                rotations[from + r] = (rotations[from + r] + cogs[r]) % size;
+                last = r;
+            }
+        }
+        return last;
+    }
+
+    // MODIFIES: rotations
+    // EFFECTS: rotate every rotor by its cog times steps
+    @Override
+    public void advance(int[] rotations, int size, int[][] notches, long steps) {
+        for (int r = 0; r < rotations.length && r < cogs.length; r += 1) {
+            rotations[r] = (int) ((rotations[r] + (steps % size) * (cogs[r] % size)) % size);
+        }
+    }
+
+    // MODIFIES: rotations
+    // EFFECTS: rotate every rotor back by its cog times steps
+    @Override
+    public void rewind(int[] rotations, int size, int[][] notches, long steps) {
+        for (int r = 0; r < rotations.length && r < cogs.length; r += 1) {
+            long back = (steps % size) * (cogs[r] % size) % size;
+            rotations[r] = (int) ((rotations[r] - back + size) % size);
+        }
+    }
+
+    // EFFECTS: return true if no rotor after the first has a cog, since every rotor that has
+    //          one rotates on every symbol
+    @Override
+    public boolean innerRotorsMoveRarely() {
+        for (int r = 1; r < cogs.length; r += 1) {
+            if (cogs[r] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: return the number of positions each rotor rotates per symbol
+    public int[] getCogs() {
+        return Arrays.copyOf(cogs, cogs.length);
+    }
+}
@@ -0,0 +1,134 @@
+package model;
+
+import java.util.*;
+
+/*
+A compiled snapshot of an Enigma machine. The plugboard, the rotors in use
+and the inverter are turned into dense int tables once, so every symbol is
+encrypted with array arithmetic on indices only.
+This class should contain the following information:
+    1. The compiled wiring, which is never changed and can be shared
+    2. One cursor holding the rotation of every rotor
+Notice: the snapshot does not follow later changes of the Enigma it was
+        compiled from, and it keeps no original or encrypted message.
+ */
+public class CompiledEnigma {
+
+    // Memory budget for the period table that suits most machines, in bytes
+    public static final long DEFAULT_PERIOD_TABLE_BUDGET = 64L * 1024 * 1024;
+
+    // The compiled wiring
+    private EnigmaConfig config;
+    // The rotation of every rotor
+    private EnigmaCursor cursor;
+
+    // REQUIRES: plugboard, inverter and rotors have the same inputs and outputs
+    // EFFECTS: compile the given components into int tables, starting from
+    //          the current rotation of every rotor
+    public CompiledEnigma(Plugboard plugboard, List<Rotor> rotors, Inverter inverter) {
+        this(new EnigmaConfig(plugboard, rotors, inverter));
+    }
+
+    // EFFECTS: make a machine over config at position 0
+    public CompiledEnigma(EnigmaConfig config) {
+        this(config, config.newCursor());
+    }
+
+    // EFFECTS: make a machine over config with the given cursor
+    private CompiledEnigma(EnigmaConfig config, EnigmaCursor cursor) {
+        this.config = config;
+        this.cursor = cursor;
+    }
+
+    // EFFECTS: return a copy of this machine that shares its tables, so that
+    //          encrypting with one does not rotate the rotors of the other
+    public CompiledEnigma copy() {
+        return new CompiledEnigma(config, cursor.copy());
+    }
+
+    // REQUIRES: s is one of the possible inputs
+    // MODIFIES: this
+    // EFFECTS: encrypt the symbol into a different symbol
+    public String encrypt(String s) {
+        return cursor.encrypt(s);
+    }
+
+    // REQUIRES: 0 <= index < getSize()
+    // MODIFIES: this
+    // EFFECTS: encrypt the symbol at index into the index of a different symbol,
+    //          then rotate the rotors
+    public int encrypt(int index) {
+        return cursor.encrypt(index);
+    }
+
+    // REQUIRES: 0 <= from, from + length <= input.length and output.length,
+    //           every index in the range is in [0, getSize())
+    // MODIFIES: this, output
+    // EFFECTS: encrypt length indices of input starting at from into output
+    public void encrypt(int[] input, int[] output, int from, int length) {
+        cursor.encrypt(input, output, from, length);
+    }
+
+    // REQUIRES: position >= 0
+    // MODIFIES: this
+    // EFFECTS: set every rotor to its rotation after position symbols from when compiled;
+    //          throws UnsupportedOperationException as EnigmaCursor.seek does
+    public void seek(long position) {
+        cursor.seek(position);
+    }
+
+    // REQUIRES: memoryBudget >= 0
+    // MODIFIES: this
+    // EFFECTS: if the outputs of every symbol over one full period of the machine fit in
+    //          memoryBudget bytes, precompute them so that each symbol is encrypted with one
+    //          table lookup, and return true; otherwise keep encrypting through the rotor
+    //          tables and return false
+    public boolean usePeriodTable(long memoryBudget) {
+        EnigmaConfig withTable = config.withPeriodTable(memoryBudget);
+        if (withTable != config) {
+            config = withTable;
+            cursor = config.newCursor(cursor.getPosition());
+        }
+        return config.hasPeriodTable();
+    }
+
+    // EFFECTS: return true if symbols are encrypted with the period table
+    public boolean isUsingPeriodTable() {
+        return config.hasPeriodTable();
+    }
+
+    // EFFECTS: return the number of symbols encrypted since compiled, as changed by seek
+    public long getPosition() {
+        return cursor.getPosition();
+    }
+
+    // EFFECTS: return the index of s, -1 if s is not one of the possible inputs
+    public int indexOf(String s) {
+        return config.getCodec().encode(s);
+    }
+
+    // EFFECTS: return the possible inputs/outputs in index order
+    public List<String> getIO() {
+        return config.getCodec().getSymbols();
+    }
+
+    // EFFECTS: return the codec between possible inputs/outputs and their indices
+    public SymbolCodec getCodec() {
+        return config.getCodec();
+    }
+
+    // EFFECTS: return the compiled wiring, which can be shared by cursors on other threads
+    public EnigmaConfig getConfig() {
+        return this.config;
+    }
+
+    // EFFECTS: return the number of possible inputs/outputs
+    public int getSize() {
+        return config.getSize();
+    }
+
+    // EFFECTS: return a copy of the current rotation of every rotor
+    public int[] getRotations() {
+        return cursor.getRotations();
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import java.util.*;
+
+/*
+A sequence of gadgets that do not move while symbols pass through them,
+precomputed into one table, so that passing all of them is one lookup.
+Each gadget is asked for its wiring version before the table is used, and
+the table is composed again if any of them has changed, so the composed
+gadget is never out of date.
+This class should contain the following information:
+    1. The gadgets, in the order a signal passes through them
+    2. The table of where each index ends up after all of them
+    3. The wiring version of every gadget when the table was composed
+ */
+public class ComposedGadget implements Gadget {
+
+    // Gadgets in the order a signal passes through them
+    private final Gadget[] gadgets;
+    // Wiring version of each gadget when table was composed
+    private final long[] versions;
+    // Index each index ends up at after every gadget
+    private final int[] table;
+    // Number of times the table has been composed
+    private long wiringVersion = 0;
+
+    // REQUIRES: every gadget has size inputs/outputs
+    // EFFECTS: make one gadget that passes a signal through gadgets in order
+    public ComposedGadget(int size, Gadget... gadgets) {
+        this.gadgets = gadgets.clone();
+        this.versions = new long[gadgets.length];
+        this.table = new int[size];
+        compose();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: pass every index through the gadgets in order, a whole table at a time,
+    //          and remember their wiring versions
+    private void compose() {
+        for (int i = 0; i < table.length; i += 1) {
+            table[i] = i;
+        }
+        for (int g = 0; g < gadgets.length; g += 1) {
+            gadgets[g].passThroughWire(table, table, 0, table.length);
+            versions[g] = gadgets[g].getWiringVersion();
+        }
+        wiringVersion += 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: compose the table again if the wiring of any gadget has changed since
+    private void refresh() {
+        for (int g = 0; g < gadgets.length; g += 1) {
+            if (gadgets[g].getWiringVersion() != versions[g]) {
+                compose();
+                return;
+            }
+        }
+    }
+
+    // REQUIRES: 0 <= i < the number of inputs
+    // MODIFIES: this
+    // EFFECTS: return the index the input at index i ends up at after every gadget;
+    //          input and output are not used
+    @Override
+    public int passThroughWire(List<String> input, List<String> output, int i) {
+        refresh();
+        return table[i];
+    }
+
+    // REQUIRES: 0 <= from, from + length <= in.length and out.length,
+    //           every index in the range is in [0, the number of inputs)
+    // MODIFIES: this, out
+    // EFFECTS: set out[i] to the index in[i] ends up at after every gadget, for every i in the range
+    @Override
+    public void passThroughWire(int[] in, int[] out, int from, int length) {
+        refresh();
+        for (int i = from; i < from + length; i += 1) {
+            out[i] = table[in[i]];
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: return the number of times the table has been composed, after composing it
+    //          again if any gadget has changed, so composed gadgets can be composed in turn
+    @Override
+    public long getWiringVersion() {
+        refresh();
+        return this.wiringVersion;
+    }
+}
@@ -0,0 +1,17 @@
+package model;
+
+/*
+Stepping as on the historical machines: the first rotor rotates once per
+symbol, every other rotor rotates when the rotor before it is at a notch,
+and that rotor is taken along, so a middle rotor at its notch rotates on
+two symbols in a row. There is no closed form for this rule.
+ */
+public final class DoubleStepping implements SteppingPolicy {
+
+    // EFFECTS: rotate once the count rotors whose rotations start at from, and return the
+    //          index of the last rotor that rotated, -1 if count is 0
+    @Override
+    public int step(int[] rotations, int from, int count, int size, boolean[][] notches) {
+        return Odometer.doubleStep(rotations, from, count, size, notches);
+    }
+}
@@ -3,6 +3,8 @@ package model;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.*;
 
 /*
@@ -30,10 +32,35 @@ public class Enigma {
     private List<Rotor> rotorsToUse = new ArrayList<>();
     // Available inputs and outputs
     private HashSet<String> io;
+    // Dense code of each input and output, in plugboard order
+    private SymbolCodec codec;
+    // Plugboard, inverter and plugboard again as one table, for encryption with no rotors in use
+    private ComposedGadget stationaryPath;
     // Original Message
-    private String originalMessage = "";
+    private StringBuilder originalMessage = new StringBuilder();
     // Encrypted Message
-    private String encryptedMessage = "";
+    private StringBuilder encryptedMessage = new StringBuilder();
+    // Where the symbols longer than one character kept in the original and encrypted
+    // messages end
+    private SymbolEnds originalEnds = new SymbolEnds();
+    private SymbolEnds encryptedEnds = new SymbolEnds();
+    // Whether encrypted symbols are added to the original and encrypted messages
+    private boolean retainHistory = true;
+    // Number of symbols encrypted since the machine was built or its last rotor was added
+    private long position = 0;
+    // Rotation of each rotor in use at position 0
+    private int[] startRotations = new int[0];
+    // Rule by which the rotors in use rotate after each symbol
+    private SteppingPolicy stepping = SteppingPolicy.NOTCHED;
+    // Rotations and notch flags of the rotors in use, reused by policies other than NOTCHED
+    private int[] stepRotations = new int[0];
+    private boolean[][] stepNotches = new boolean[0][];
+    // Rotations at every position for a policy that is not seekable, and the policy, rotations
+    // at position 0 and notch flags it was compiled for
+    private SteppingTable steppingTable;
+    private SteppingPolicy tableStepping;
+    private int[] tableStart;
+    private boolean[][] tableNotches;
 
     // Accesses the EventLog singleton
     private EventLog eventLogger = EventLog.getInstance();
@@ -54,11 +81,54 @@ public class Enigma {
                   HashSet<String> io, String originalMessage, String encryptedMessage) {
         this.plugboard = plugboard;
         this.inverter = inverter;
+        this.stationaryPath = new ComposedGadget(plugboard.getIO().size(), plugboard, inverter, plugboard);
         this.rotorBox = rotorBox;
         this.rotorsToUse = rotorsToUse;
         this.io = io;
-        this.originalMessage = originalMessage;
-        this.encryptedMessage = encryptedMessage;
+        this.originalMessage.append(originalMessage);
+        this.encryptedMessage.append(encryptedMessage);
+        this.codec = new SymbolCodec(plugboard.getIO());
+        this.startRotations = currentRotations();
+        findSymbolEnds(originalMessage, originalEnds);
+        findSymbolEnds(encryptedMessage, encryptedEnds);
+    }
+
+    // MODIFIES: ends
+    // EFFECTS: add where each symbol of message ends, splitting it into the longest possible
+    //          inputs; a character that starts no input counts as a symbol of its own
+    private void findSymbolEnds(String message, SymbolEnds ends) {
+        SymbolTokenizer tokenizer = new SymbolTokenizer(new StringReader(message), codec,
+                SymbolTokenizer.UnknownCharacters.PASS_THROUGH);
+        try {
+            int end = 0;
+            while (tokenizer.next() != SymbolTokenizer.END) {
+                int length = (int) tokenizer.getOffset() - end;
+                end += length;
+                ends.add(length, end);
+            }
+        } catch (IOException e) {
+            // A StringReader never fails to read
+        }
+    }
+
+    // EFFECTS: make a machine with the same inverter as enigma, copies of its plugboard and
+    //          rotor box, and rotors in use that share the wiring of enigma's rotors, at the
+    //          same position; the new machine starts with empty original and encrypted messages
+    private Enigma(Enigma enigma) {
+        this.plugboard = new Plugboard(enigma.plugboard);
+        this.inverter = enigma.inverter;
+        this.stationaryPath = new ComposedGadget(plugboard.getIO().size(), plugboard, inverter, plugboard);
+        this.rotorBox = new RotorBox(enigma.rotorBox);
+        this.io = enigma.io;
+        this.codec = enigma.codec;
+        this.retainHistory = enigma.retainHistory;
+        this.position = enigma.position;
+        this.startRotations = enigma.startRotations;
+        this.stepping = enigma.stepping;
+        this.rotorsToUse = new ArrayList<>(enigma.rotorsToUse.size());
+        for (Rotor rotor : enigma.rotorsToUse) {
+            this.rotorsToUse.add(new Rotor(rotor));
+        }
     }
 
     // MODIFIES: this
@@ -68,7 +138,9 @@ public class Enigma {
     private void initializeEnigma(HashSet<String> io) {
         plugboard = new Plugboard(io);
         inverter = new Inverter(io);
+        stationaryPath = new ComposedGadget(io.size(), plugboard, inverter, plugboard);
         rotorBox = new RotorBox(io);
+        codec = new SymbolCodec(plugboard.getIO());
         eventLogger.logEvent(new Event("A new Enigma Machine with valid inputs of "
                                         + io + " is initialized."));
     }
@@ -76,56 +148,333 @@ public class Enigma {
     // REQUIRES: 1 <= i <= rotorBox.getRotors().size()
     // MODIFIES: this
     // EFFECTS: add copies of rotors from the rotorBox
-    //          to the rotorsToUse to start encryption
+    //          to the rotorsToUse to start encryption;
+    //          the current rotations become position 0
     public void retrieveRotor(int i, String name) {
         // i is index of desired rotor + 1
         Rotor rotorToUse = this.copyRotor(this.rotorBox.getRotors().get(i - 1), name);
         rotorsToUse.add(rotorToUse);
+        position = 0;
+        startRotations = currentRotations();
         eventLogger.logEvent(new Event("A rotor named: " + rotorToUse.getName()
                 + ", is added to the Enigma Machine, with the same setting as index "
                 + Integer.toString(i) + " from the rotor box."));
     }
 
     // REQUIRES: rotorInBox in initialized rotorBox
-    // EFFECTS: returns a copy of the desired rotor in the box
+    // EFFECTS: returns a copy of the desired rotor in the box, with the same notches and ring setting,
+    //          that shares its codes and wiring table
     private Rotor copyRotor(Rotor rotorInBox, String name) {
-        String rotorName = name;
-        List<String> rotorIO = rotorInBox.getRotorRight();
-        Map<String, String> rotorWiring = rotorInBox.getRotorWiring();
-
-        Rotor rotorCopy = new Rotor(rotorName, rotorIO, rotorWiring);
-        return rotorCopy; // stub
+        return new Rotor(name, rotorInBox);
     }
 
     // REQUIRES: s is one character in the possible inputs
+    // MODIFIES: this
     // EFFECTS: encrypt the character through the Enigma into a
     //          different character
     public String encrypt(String s) {
-        originalMessage += s;
-        String encrypted = "";
-        boolean emptyRotors = (this.rotorsToUse.size() == 0);
-
-        int indexOfS = this.plugboard.getIO().indexOf(s);
-        int plugboardOutputAIndex = passThroughPlugboard(indexOfS);
-        if (emptyRotors) {
-            int plugboardOutputBIndex = emptyRotorEncryption(plugboardOutputAIndex);
-            encrypted = this.plugboard.getIO().get(plugboardOutputBIndex);
+        String encrypted = encryptSymbol(s);
+        if (retainHistory) {
+            keepSymbol(s, encrypted);
+        }
+        return encrypted;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: add a symbol and what it was encrypted into to the messages, and remember
+    //          where each ends, if it is longer than one character, so it can be removed
+    //          by stepBack
+    private void keepSymbol(String original, String encrypted) {
+        originalMessage.append(original);
+        encryptedMessage.append(encrypted);
+        originalEnds.add(original.length(), originalMessage.length());
+        encryptedEnds.add(encrypted.length(), encryptedMessage.length());
+    }
+
+    // REQUIRES: every character of message is one of the possible inputs
+    // MODIFIES: this
+    // EFFECTS: encrypt every character of message in order, and return the encrypted message
+    public String encryptMessage(CharSequence message) {
+        StringBuilder encrypted = new StringBuilder(message.length());
+        for (int i = 0; i < message.length(); i += 1) {
+            String s = String.valueOf(message.charAt(i));
+            String output = encryptSymbol(s);
+            encrypted.append(output);
+            if (retainHistory) {
+                keepSymbol(s, output);
+            }
+        }
+        return encrypted.toString();
+    }
+
+    // REQUIRES: every element of symbols is one of the possible inputs
+    // MODIFIES: this
+    // EFFECTS: encrypt every symbol in order, and return the encrypted symbols in the same order
+    public List<String> encryptMessage(List<String> symbols) {
+        List<String> encrypted = new ArrayList<>(symbols.size());
+        for (String s : symbols) {
+            String output = encryptSymbol(s);
+            encrypted.add(output);
+            if (retainHistory) {
+                keepSymbol(s, output);
+            }
+        }
+        return encrypted;
+    }
+
+    // REQUIRES: s is one character in the possible inputs
+    // MODIFIES: this
+    // EFFECTS: encrypt the character without recording it in the messages,
+    //          then rotate the rotors
+    String encryptSymbol(String s) {
+        return codec.decode(encrypt(codec.encode(s)));
+    }
+
+    // REQUIRES: 0 <= symbolCode < getCodec().size()
+    // MODIFIES: this
+    // EFFECTS: encrypt the symbol with the given code into the code of a different symbol,
+    //          without recording it in the messages and without creating any object,
+    //          then rotate the rotors by the stepping policy; with notched stepping,
+    //          the first rotor rotates every time, and every other rotor rotates
+    //          when the rotor before it rotates away from a notch;
+    //          with no rotors in use, the plugboard, inverter and plugboard are one lookup
+    public int encrypt(int symbolCode) {
+        int encrypted;
+        if (this.rotorsToUse.size() == 0) {
+            encrypted = this.stationaryPath.passThroughWire(null, null, symbolCode);
+        } else {
+            encrypted = passThroughPlugboard(passThroughRotorsAndInverter(passThroughPlugboard(symbolCode)));
+        }
+        position += 1;
+        return encrypted;
+    }
+
+    // REQUIRES: 0 <= from, from + length <= input.length and output.length,
+    //           every code in the range is in [0, getCodec().size())
+    // MODIFIES: this, output
+    // EFFECTS: encrypt length codes of input starting at from into output, as encrypt(int) does
+    //          one at a time; the plugboard, which never moves, is passed by the whole block
+    //          at once, and with no rotors in use, so are the plugboard, inverter and plugboard
+    //          as one composed table
+    public void encrypt(int[] input, int[] output, int from, int length) {
+        if (this.rotorsToUse.size() == 0) {
+            this.stationaryPath.passThroughWire(input, output, from, length);
         } else {
-            int plugboardOutputBIndex = withRotorEncryption(plugboardOutputAIndex);
-            encrypted = this.plugboard.getIO().get(plugboardOutputBIndex);
-            if (this.rotorsToUse.size() > 1) {
-                for (int i = 0; i < this.rotorsToUse.size() - 1; i += 1) {
-                    if (rotorsToUse.get(i).rotate()) {
-                        rotorsToUse.get(i + 1).rotate();
-                    }
+            this.plugboard.passThroughWire(input, output, from, length);
+            for (int i = from; i < from + length; i += 1) {
+                output[i] = passThroughRotorsAndInverter(output[i]);
+            }
+            this.plugboard.passThroughWire(output, output, from, length);
+        }
+        position += length;
+    }
+
+    // REQUIRES: 0 <= signal < getCodec().size(), rotorsToUse is not empty
+    // MODIFIES: this
+    // EFFECTS: return the signal after the rotors, the inverter and the rotors again,
+    //          then rotate the rotors by the stepping policy
+    private int passThroughRotorsAndInverter(int signal) {
+        int output = withRotorEncryption(signal);
+        if (stepping != SteppingPolicy.NOTCHED) {
+            stepRotors();
+        } else {
+            for (int i = 0; i < this.rotorsToUse.size(); i += 1) {
+                if (!rotorsToUse.get(i).rotate()) {
+                    break;
                 }
+            }
+        }
+        return output;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rotate the rotors in use once by the stepping policy, reusing the same
+    //          arrays of rotations and notch flags as long as the number of rotors is the same
+    private void stepRotors() {
+        int count = rotorsToUse.size();
+        if (stepRotations.length != count) {
+            stepRotations = new int[count];
+            stepNotches = new boolean[count][];
+        }
+        for (int r = 0; r < count; r += 1) {
+            stepRotations[r] = rotorsToUse.get(r).getRotation();
+            stepNotches[r] = rotorsToUse.get(r).getNotchTable();
+        }
+        stepping.step(stepRotations, 0, count, this.codec.size(), stepNotches);
+        setRotations(stepRotations);
+    }
+
+    // REQUIRES: position >= 0
+    // MODIFIES: this
+    // EFFECTS: set every rotor to its rotation after position symbols,
+    //          counted from the rotations at position 0;
+    //          the original and encrypted messages are not changed; in closed form if the
+    //          stepping policy is seekable, or by its stepping table otherwise; throws
+    //          UnsupportedOperationException if the policy is not seekable, its stepping table
+    //          would be too large and position is not 0
+    public void seek(long position) {
+        int[] rotations = currentRotations();
+        if (stepping instanceof SeekableStepping) {
+            SeekableStepping seekable = (SeekableStepping) stepping;
+            int[][] notches = new int[rotations.length][];
+            for (int r = 0; r < rotations.length; r += 1) {
+                notches[r] = rotorsToUse.get(r).getNotches();
+            }
+            if (position >= this.position) {
+                seekable.advance(rotations, codec.size(), notches, position - this.position);
             } else {
-                rotorsToUse.get(0).rotate();
+                seekable.rewind(rotations, codec.size(), notches, this.position - position);
             }
+        } else if (compileSteppingTable() != null) {
+            steppingTable.rotationsAt(steppingTable.indexOf(position), rotations);
+        } else if (position == 0) {
+            rotations = startRotations.clone();
+        } else {
+            throw new UnsupportedOperationException("Cannot seek to position " + position
+                    + ": the stepping policy is not seekable and its stepping table is too large");
         }
+        setRotations(rotations);
+        this.position = position;
+    }
 
-        encryptedMessage += encrypted;
-        return encrypted; // stub
+    // MODIFIES: this
+    // EFFECTS: return the rotations at every position under the stepping policy, from the
+    //          rotations at position 0, compiled again only if the policy, those rotations or
+    //          the notches of the rotors in use have changed since; null if the table would be
+    //          more than SteppingTable.MEMORY_BUDGET bytes
+    private SteppingTable compileSteppingTable() {
+        boolean[][] notches = new boolean[rotorsToUse.size()][];
+        for (int r = 0; r < notches.length; r += 1) {
+            notches[r] = rotorsToUse.get(r).getNotchTable();
+        }
+        if (tableStepping != stepping || tableStart != startRotations || !Arrays.equals(tableNotches, notches)) {
+            steppingTable = SteppingTable.compile(stepping, startRotations, codec.size(), notches,
+                    SteppingTable.MEMORY_BUDGET);
+            tableStepping = stepping;
+            tableStart = startRotations;
+            tableNotches = notches;
+        }
+        return steppingTable;
+    }
+
+    // REQUIRES: 0 <= n <= getPosition(); if messages are kept, the last n symbols
+    //           encrypted were all kept
+    // MODIFIES: this
+    // EFFECTS: rotate the rotors back to where they were n symbols ago, and remove the
+    //          last n symbols, whatever their lengths, from the original and encrypted
+    //          messages if they are kept; costs the same for any length of message, with
+    //          the stepping table compiled once if the stepping policy is not seekable;
+    //          throws UnsupportedOperationException as seek does
+    public void stepBack(int n) {
+        seek(this.position - n);
+        if (retainHistory) {
+            originalMessage.setLength(originalEnds.removeLast(n));
+            encryptedMessage.setLength(encryptedEnds.removeLast(n));
+        }
+    }
+
+    // EFFECTS: return the rotation of every rotor in use and the position
+    public EnigmaSnapshot snapshot() {
+        return new EnigmaSnapshot(currentRotations(), position);
+    }
+
+    // EFFECTS: return the current rotation of every rotor in use
+    private int[] currentRotations() {
+        int[] rotations = new int[rotorsToUse.size()];
+        for (int r = 0; r < rotations.length; r += 1) {
+            rotations[r] = rotorsToUse.get(r).getRotation();
+        }
+        return rotations;
+    }
+
+    // REQUIRES: rotations has one rotation per rotor in use
+    // MODIFIES: this
+    // EFFECTS: set the rotation of every rotor in use
+    private void setRotations(int[] rotations) {
+        for (int r = 0; r < rotations.length; r += 1) {
+            rotorsToUse.get(r).setRotation(rotations[r]);
+        }
+    }
+
+    // REQUIRES: snapshot was taken from this machine, or a fork of it, with the same rotors in use
+    // MODIFIES: this
+    // EFFECTS: set every rotor in use and the position back to the snapshot;
+    //          the original and encrypted messages are not changed
+    public void restore(EnigmaSnapshot snapshot) {
+        for (int r = 0; r < rotorsToUse.size(); r += 1) {
+            rotorsToUse.get(r).setRotation(snapshot.getRotation(r));
+        }
+        this.position = snapshot.getPosition();
+    }
+
+    // EFFECTS: return a machine at the same position whose rotors rotate independently of
+    //          this machine's; the inverter and rotor wiring, which never change, are shared,
+    //          the plugboard and rotor box are copied so either machine can be rewired alone,
+    //          and the new machine starts with empty original and encrypted messages
+    public Enigma fork() {
+        return new Enigma(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: make the current rotation of every rotor in use position 0, such as after
+    //          the rotors have been set by hand; the messages are not changed
+    public void resetPosition() {
+        this.startRotations = currentRotations();
+        this.position = 0;
+    }
+
+    // EFFECTS: return the number of symbols encrypted since the machine was built,
+    //          loaded, or had its last rotor added, as changed by seek
+    public long getPosition() {
+        return this.position;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keep (true) or stop keeping (false) the original and encrypted messages;
+    //          messages already kept are not changed
+    public void setRetainHistory(boolean retainHistory) {
+        this.retainHistory = retainHistory;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: make a rotor at a notch rotate along with the rotor it turns (true), as on the
+    //          historical machines, or only when the rotor before it leaves a notch (false)
+    public void setDoubleStepping(boolean doubleStepping) {
+        this.stepping = doubleStepping ? SteppingPolicy.DOUBLE_STEPPING : SteppingPolicy.NOTCHED;
+    }
+
+    // EFFECTS: return true if a rotor at a notch rotates along with the rotor it turns
+    public boolean isDoubleStepping() {
+        return this.stepping == SteppingPolicy.DOUBLE_STEPPING;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: set the rule by which the rotors in use rotate after each symbol
+    public void setSteppingPolicy(SteppingPolicy stepping) {
+        this.stepping = stepping;
+    }
+
+    // EFFECTS: return the rule by which the rotors in use rotate after each symbol
+    public SteppingPolicy getSteppingPolicy() {
+        return this.stepping;
+    }
+
+    // EFFECTS: return true if encrypted symbols are added to the messages
+    public boolean isRetainingHistory() {
+        return this.retainHistory;
+    }
+
+    // EFFECTS: return a compiled snapshot of this machine that encrypts with int tables,
+    //          starting from the current rotation of every rotor in use
+    public CompiledEnigma compile() {
+        return new CompiledEnigma(compileConfig());
+    }
+
+    // EFFECTS: return the wiring of this machine compiled into int tables that are never
+    //          changed, with the current rotation of every rotor in use as position 0;
+    //          any number of threads can encrypt with their own cursors over it
+    public EnigmaConfig compileConfig() {
+        return new EnigmaConfig(this.plugboard, this.rotorsToUse, this.inverter, this.stepping);
     }
 
     // EFFECTS: return the plugboard of the Enigma machine
@@ -154,14 +503,19 @@ public class Enigma {
         return this.io;
     }
 
+    // EFFECTS: return the codec between available inputs/outputs and their codes
+    public SymbolCodec getCodec() {
+        return this.codec;
+    }
+
     // EFFECTS: return originalMessage
     public String getOriginalMessage() {
-        return this.originalMessage;
+        return this.originalMessage.toString();
     }
 
     // EFFECTS: return encryptedMessage
     public String getEncryptedMessage() {
-        return this.encryptedMessage;
+        return this.encryptedMessage.toString();
     }
 
     // REQUIRES: 0 <= input < plugboard.size()
@@ -177,14 +531,7 @@ public class Enigma {
     }
 
     // REQUIRES: 0 <= i < inverter.size()
-    // EFFECTS: return the index of plugboard output after inverter encryption
-    private int emptyRotorEncryption(int i) {
-        int inverterOutputIndex = passThroughInverter(i);
-        return passThroughPlugboard(inverterOutputIndex);
-    }
-
-    // REQUIRES: 0 <= i < inverter.size()
-    // EFFECTS: return the index of plugboard output after rotor-inverter encryption
+    // EFFECTS: return the index after the rotors, the inverter and the rotors again
     private int withRotorEncryption(int i) {
         int inputIndexRight = i;
         for (int rotorIndex = 0; rotorIndex < rotorsToUse.size(); rotorIndex += 1) {
@@ -199,7 +546,7 @@ public class Enigma {
             inputIndexLeft = currentRotor.passThroughWire(currentRotor.getRotorLeft(),
                     currentRotor.getRotorRight(), inputIndexLeft);
         }
-        return passThroughPlugboard(inputIndexLeft);
+        return inputIndexLeft;
     }
 
     // EFFECTS: return a JSONArray to represent the rotorsToUse
@@ -220,8 +567,54 @@ public class Enigma {
         enigmaJson.put("rotorBox", this.rotorBox.toJson());
         enigmaJson.put("rotorsToUse", this.rotorToUseToJson());
         enigmaJson.put("io", this.io);
-        enigmaJson.put("original", this.originalMessage);
-        enigmaJson.put("encrypted", this.encryptedMessage);
+        enigmaJson.put("original", this.originalMessage.toString());
+        enigmaJson.put("encrypted", this.encryptedMessage.toString());
+        enigmaJson.put("doubleStepping", isDoubleStepping());
         return enigmaJson;
     }
+
+    /*
+    Where the symbols kept in a message end, so that the last symbols can be removed
+    whatever their lengths. Only the symbols longer than one character are recorded,
+    with their number and the length of the message up to and including them; every
+    symbol between them is one character long.
+     */
+    private static final class SymbolEnds {
+
+        // Number and end of long symbol i, for i < longSymbols
+        private long[] numbers = new long[4];
+        private int[] ends = new int[4];
+        private int longSymbols = 0;
+        // Number of symbols
+        private long count = 0;
+
+        // MODIFIES: this
+        // EFFECTS: add a symbol of the given length that ends at end
+        void add(int length, int end) {
+            if (length != 1) {
+                if (longSymbols == ends.length) {
+                    numbers = Arrays.copyOf(numbers, 2 * longSymbols);
+                    ends = Arrays.copyOf(ends, 2 * longSymbols);
+                }
+                numbers[longSymbols] = count;
+                ends[longSymbols] = end;
+                longSymbols += 1;
+            }
+            count += 1;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: forget the last n symbols, all of them if there are fewer, and return where
+        //          the symbols left end
+        int removeLast(int n) {
+            count = Math.max(0, count - n);
+            while (longSymbols > 0 && numbers[longSymbols - 1] >= count) {
+                longSymbols -= 1;
+            }
+            if (longSymbols == 0) {
+                return (int) count;
+            }
+            return (int) (ends[longSymbols - 1] + count - 1 - numbers[longSymbols - 1]);
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package model;
+
+import java.util.*;
+
+/*
+Several Enigma machines run back to back: every symbol is encrypted by the
+first machine, its output by the second, and so on, in one pass with no
+message in between. Between two machines the plugboard of the first and
+the plugboard of the next are composed into one table, so a symbol takes
+one lookup per boundary instead of two.
+A rotor is passed with the same wiring on the way in and on the way out, so
+a machine is not its own inverse unless its rotors are; the cascade that
+decrypts runs the inverse of every machine, in reverse order, at the same
+position.
+This class should contain the following information:
+    1. The configuration and a cursor of every machine
+    2. The plugboard before the first machine, the composed plugboard between
+       every two machines, and the plugboard after the last machine
+Notice: all machines need the same possible inputs, with the same codes.
+ */
+public class EnigmaCascade {
+
+    // Configuration of every machine, in order
+    private final List<EnigmaConfig> configs;
+    // Cursor of every machine, in order
+    private final EnigmaCursor[] cursors;
+    // Plugboard before machine k, composed with the one after machine k - 1, at links[k];
+    // links[cursors.length] is the plugboard after the last machine
+    private final int[][] links;
+    // Codes of the possible inputs of every machine
+    private final SymbolCodec codec;
+
+    // REQUIRES: machines is not empty
+    // EFFECTS: make a cascade of the machines compiled at their current rotations, in order;
+    //          throw IllegalArgumentException if they do not have the same possible inputs
+    //          with the same codes
+    public EnigmaCascade(Enigma... machines) {
+        this(compileAll(machines), 0);
+    }
+
+    // REQUIRES: configs is not empty, position >= 0
+    // EFFECTS: make a cascade of the configurations in order, every machine at position;
+    //          throw IllegalArgumentException if they do not have the same possible inputs
+    //          with the same codes
+    public EnigmaCascade(List<EnigmaConfig> configs, long position) {
+        this.configs = Collections.unmodifiableList(new ArrayList<>(configs));
+        this.codec = configs.get(0).getCodec();
+        this.cursors = new EnigmaCursor[configs.size()];
+        this.links = new int[configs.size() + 1][];
+        int[] previous = null;
+        for (int k = 0; k < configs.size(); k += 1) {
+            EnigmaConfig config = configs.get(k).withoutPeriodTable();
+            if (!config.getCodec().getSymbols().equals(codec.getSymbols())) {
+                throw new IllegalArgumentException("Machine " + k + " does not have the same inputs");
+            }
+            cursors[k] = config.newCursor(position);
+            links[k] = compose(previous, config.getPlugboardTable());
+            previous = config.getPlugboardTable();
+        }
+        links[configs.size()] = previous;
+    }
+
+    // EFFECTS: return the configuration of every machine compiled at its current rotations
+    private static List<EnigmaConfig> compileAll(Enigma... machines) {
+        List<EnigmaConfig> configs = new ArrayList<>(machines.length);
+        for (Enigma machine : machines) {
+            configs.add(machine.compileConfig());
+        }
+        return configs;
+    }
+
+    // REQUIRES: first is null or has the same length as second
+    // EFFECTS: return the table of first followed by second, or second if first is null
+    private static int[] compose(int[] first, int[] second) {
+        if (first == null) {
+            return second;
+        }
+        int[] composed = new int[second.length];
+        for (int i = 0; i < composed.length; i += 1) {
+            composed[i] = second[first[i]];
+        }
+        return composed;
+    }
+
+    // REQUIRES: s is one of the possible inputs
+    // MODIFIES: this
+    // EFFECTS: encrypt the symbol through every machine in order
+    public String encrypt(String s) {
+        return codec.decode(encrypt(codec.encode(s)));
+    }
+
+    // REQUIRES: 0 <= index < the number of possible inputs
+    // MODIFIES: this
+    // EFFECTS: encrypt the symbol at index through every machine in order, then rotate the
+    //          rotors of every machine
+    public int encrypt(int index) {
+        int signal = index;
+        for (int k = 0; k < cursors.length; k += 1) {
+            signal = cursors[k].encryptBetweenPlugboards(links[k][signal]);
+        }
+        return links[cursors.length][signal];
+    }
+
+    // REQUIRES: 0 <= from, from + length <= input.length and output.length,
+    //           every index in the range is one of the possible inputs
+    // MODIFIES: this, output
+    // EFFECTS: encrypt length indices of input starting at from into output
+    public void encrypt(int[] input, int[] output, int from, int length) {
+        for (int i = from; i < from + length; i += 1) {
+            output[i] = encrypt(input[i]);
+        }
+    }
+
+    // REQUIRES: position >= 0
+    // MODIFIES: this
+    // EFFECTS: set every machine to its rotations after position symbols from position 0;
+    //          throws UnsupportedOperationException if a machine cannot seek, as EnigmaCursor.seek
+    public void seek(long position) {
+        for (EnigmaCursor cursor : cursors) {
+            cursor.seek(position);
+        }
+    }
+
+    // EFFECTS: return a cascade of the inverses of the machines in reverse order at the same
+    //          position, which decrypts what this cascade encrypts from this position on
+    public EnigmaCascade reverse() {
+        List<EnigmaConfig> reversed = new ArrayList<>(configs.size());
+        for (EnigmaConfig config : configs) {
+            reversed.add(0, config.inverse());
+        }
+        return new EnigmaCascade(reversed, getPosition());
+    }
+
+    // EFFECTS: return the number of symbols encrypted since position 0, as changed by seek
+    public long getPosition() {
+        return cursors[0].getPosition();
+    }
+
+    // EFFECTS: return the number of machines
+    public int getMachineCount() {
+        return cursors.length;
+    }
+
+    // EFFECTS: return the codec between possible inputs/outputs and their indices
+    public SymbolCodec getCodec() {
+        return this.codec;
+    }
+}
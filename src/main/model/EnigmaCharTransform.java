@@ -0,0 +1,57 @@
+package model;
+
+/*
+Encrypts single characters through an Enigma machine for the stream classes.
+Only possible inputs that are one character long are encrypted; every other
+character passes through unchanged. Nothing is recorded in the original or
+encrypted messages of the Enigma, so memory use does not grow with the data.
+ */
+class EnigmaCharTransform {
+
+    // The machine that encrypts the characters
+    private final Enigma enigma;
+    // Codes of the characters that are possible inputs of the machine
+    private final SymbolCodec codec;
+
+    // EFFECTS: make a transform that encrypts characters through enigma
+    EnigmaCharTransform(Enigma enigma) {
+        this.enigma = enigma;
+        this.codec = enigma.getCodec();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: return c encrypted if it is a possible input, otherwise return c
+    char transform(char c) {
+        int code = codec.encode(c);
+        if (code == -1) {
+            return c;
+        }
+        return codec.decodeChar(enigma.encrypt(code));
+    }
+
+    // REQUIRES: 0 <= offset, offset + length <= buffer.length
+    // MODIFIES: this, buffer
+    // EFFECTS: encrypt length characters of buffer in place, starting at offset
+    void transform(char[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i += 1) {
+            buffer[i] = transform(buffer[i]);
+        }
+    }
+
+    // REQUIRES: every possible input that is a character in 0-255 encrypts to
+    //           a character in 0-255
+    // MODIFIES: this
+    // EFFECTS: return b read as an ISO-8859-1 character and encrypted
+    byte transform(byte b) {
+        return (byte) transform((char) (b & 0xFF));
+    }
+
+    // REQUIRES: 0 <= offset, offset + length <= buffer.length
+    // MODIFIES: this, buffer
+    // EFFECTS: encrypt length bytes of buffer in place, starting at offset
+    void transform(byte[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i += 1) {
+            buffer[i] = transform(buffer[i]);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package model;
+
+import java.util.*;
+
+/*
+The wiring of an Enigma machine, compiled into dense int tables and never
+changed afterwards, so one configuration can be shared by any number of
+threads; only the stepping table is compiled later, once, the first time a
+cursor seeks. Each thread encrypts with its own EnigmaCursor, which holds only
+the rotation of every rotor.
+This class should contain the following information:
+    1. The possible inputs/outputs, in the order of the plugboard
+    2. The plugboard and inverter as index-to-index tables
+    3. Every rotor's wiring as an index-to-index table at rotation 0
+    4. The rotation of every rotor at position 0
+    5. The notches of every rotor, and the stepping policy of the rotors,
+       compiled into the rotations at every position when first needed, if
+       it is not seekable
+    6. Optionally, the output of every symbol at every rotation of the rotors,
+       for one full period of the machine
+ */
+public final class EnigmaConfig {
+
+    // Index of each possible input and output, in plugboard order
+    private final SymbolCodec codec;
+    // Number of possible inputs and outputs
+    private final int size;
+    // Plugboard wiring, index to index
+    private final int[] plugboard;
+    // Inverter wiring, index to index
+    private final int[] inverter;
+    // Wiring of each rotor at rotation 0, index to index
+    private final int[][] rotorWirings;
+    // Rotation of each rotor at position 0
+    private final int[] startRotations;
+    // Sorted rotations of the notches of each rotor
+    private final int[][] notches;
+    // Whether rotor r has a notch at rotation p, at [r][p]
+    private final boolean[][] notchTables;
+    // Rule by which the rotors rotate
+    private final SteppingPolicy stepping;
+    // Rotations at every position, null if stepping is seekable, the table is too large,
+    // or it has not been compiled yet
+    private SteppingTable steppingTable;
+    // Whether steppingTable has been compiled, or found too large
+    private boolean steppingTableCompiled;
+    // Output index of every input index at every rotation, null if not precomputed;
+    // the rotations of the rotors are read as digits of a number in base size
+    private final char[] periodTable;
+
+    // REQUIRES: plugboard, inverter and rotors have the same inputs and outputs
+    // EFFECTS: compile the given components into int tables, with notched stepping;
+    //          the current rotation of every rotor becomes position 0
+    public EnigmaConfig(Plugboard plugboard, List<Rotor> rotors, Inverter inverter) {
+        this(plugboard, rotors, inverter, SteppingPolicy.NOTCHED);
+    }
+
+    // REQUIRES: plugboard, inverter and rotors have the same inputs and outputs
+    // EFFECTS: compile the given components into int tables; the current rotation of every
+    //          rotor becomes position 0
+    public EnigmaConfig(Plugboard plugboard, List<Rotor> rotors, Inverter inverter, SteppingPolicy stepping) {
+        this.codec = new SymbolCodec(plugboard.getIO());
+        this.size = codec.size();
+        this.plugboard = compileStationary(plugboard);
+        this.inverter = compileStationary(inverter);
+        this.rotorWirings = new int[rotors.size()][];
+        this.startRotations = new int[rotors.size()];
+        this.notches = new int[rotors.size()][];
+        this.notchTables = new boolean[rotors.size()][];
+        for (int r = 0; r < rotors.size(); r += 1) {
+            startRotations[r] = rotors.get(r).getRotation();
+            rotorWirings[r] = compileRotor(rotors.get(r));
+            notches[r] = rotors.get(r).getNotches();
+            notchTables[r] = rotors.get(r).getNotchTable();
+        }
+        this.stepping = stepping;
+        this.periodTable = null;
+    }
+
+    // EFFECTS: make a configuration with the same plugboard, inverter and stepping as config,
+    //          the given rotor wirings and the given period table
+    private EnigmaConfig(EnigmaConfig config, int[][] rotorWirings, char[] periodTable) {
+        this.codec = config.codec;
+        this.size = config.size;
+        this.plugboard = config.plugboard;
+        this.inverter = config.inverter;
+        this.rotorWirings = rotorWirings;
+        this.startRotations = config.startRotations;
+        this.notches = config.notches;
+        this.notchTables = config.notchTables;
+        this.stepping = config.stepping;
+        this.periodTable = periodTable;
+    }
+
+    // EFFECTS: return the index-to-index table of a gadget that does not rotate
+    private int[] compileStationary(Gadget gadget) {
+        int[] table = new int[size];
+        for (int i = 0; i < size; i += 1) {
+            table[i] = gadget.passThroughWire(null, null, i);
+        }
+        return table;
+    }
+
+    // EFFECTS: return the index-to-index table of a rotor as if it were at rotation 0
+    private int[] compileRotor(Rotor rotor) {
+        int rotation = rotor.getRotation() % size;
+        int[] table = new int[size];
+        for (int i = 0; i < size; i += 1) {
+            int output = rotor.passThroughWire(rotor.getRotorRight(), rotor.getRotorLeft(), i);
+            table[(i + rotation) % size] = (output + rotation) % size;
+        }
+        return table;
+    }
+
+    // REQUIRES: memoryBudget >= 0
+    // EFFECTS: if the rotors step as a plain odometer and the outputs of every symbol over
+    //          one full period of the machine fit in memoryBudget bytes, return a configuration
+    //          with the same wiring that has them precomputed; otherwise return this
+    public EnigmaConfig withPeriodTable(long memoryBudget) {
+        if (!isOdometer()) {
+            return this;
+        }
+        long period = 1;
+        for (int r = 0; r < rotorWirings.length && period * size <= memoryBudget; r += 1) {
+            period *= size;
+        }
+        long entries = period * size;
+        if (periodTable != null || size > Character.MAX_VALUE + 1
+                || entries * Character.BYTES > memoryBudget || entries > Integer.MAX_VALUE) {
+            return this;
+        }
+        char[] table = new char[(int) entries];
+        EnigmaCursor cursor = new EnigmaCursor(this, new int[rotorWirings.length], 0);
+        for (int offset = 0; offset < table.length; offset += size) {
+            for (int i = 0; i < size; i += 1) {
+                table[offset + i] = (char) cursor.peek(i);
+            }
+            cursor.rotate();
+        }
+        return new EnigmaConfig(this, rotorWirings, table);
+    }
+
+    // EFFECTS: return true if the rotors step as a plain odometer: by odometer stepping, or
+    //          by notched stepping where every rotor has its only notch at its last rotation
+    public boolean isOdometer() {
+        if (stepping == SteppingPolicy.ODOMETER) {
+            return true;
+        }
+        for (int[] rotorNotches : notches) {
+            if (rotorNotches.length != 1 || rotorNotches[0] != size - 1) {
+                return false;
+            }
+        }
+        return stepping == SteppingPolicy.NOTCHED;
+    }
+
+    // EFFECTS: return this configuration without its period table, if it has one
+    EnigmaConfig withoutPeriodTable() {
+        return periodTable == null ? this : new EnigmaConfig(this, rotorWirings, null);
+    }
+
+    // EFFECTS: return the configuration that, at every position, maps each output of this one
+    //          back to its input: every rotor is wired backward, and the plugboard and inverter,
+    //          which pair their inputs, stay the same; the period table is not kept
+    EnigmaConfig inverse() {
+        int[][] inverted = new int[rotorWirings.length][size];
+        for (int r = 0; r < rotorWirings.length; r += 1) {
+            for (int i = 0; i < size; i += 1) {
+                inverted[r][rotorWirings[r][i]] = i;
+            }
+        }
+        return new EnigmaConfig(this, inverted, null);
+    }
+
+    // EFFECTS: return a cursor at position 0
+    public EnigmaCursor newCursor() {
+        return new EnigmaCursor(this, startRotations.clone(), 0);
+    }
+
+    // REQUIRES: position >= 0
+    // EFFECTS: return a cursor at the given position
+    public EnigmaCursor newCursor(long position) {
+        EnigmaCursor cursor = newCursor();
+        cursor.seek(position);
+        return cursor;
+    }
+
+    // EFFECTS: return true if the outputs over one full period are precomputed
+    public boolean hasPeriodTable() {
+        return periodTable != null;
+    }
+
+    // EFFECTS: return the codec between possible inputs/outputs and their indices
+    public SymbolCodec getCodec() {
+        return this.codec;
+    }
+
+    // EFFECTS: return the number of possible inputs/outputs
+    public int getSize() {
+        return this.size;
+    }
+
+    // EFFECTS: return the number of rotors
+    public int getRotorCount() {
+        return this.rotorWirings.length;
+    }
+
+    // EFFECTS: return a copy of the rotation of every rotor at position 0
+    public int[] getStartRotations() {
+        return startRotations.clone();
+    }
+
+    // EFFECTS: return the plugboard wiring, index to index; the table must not be changed
+    int[] getPlugboardTable() {
+        return this.plugboard;
+    }
+
+    // EFFECTS: return the inverter wiring, index to index; the table must not be changed
+    int[] getInverterTable() {
+        return this.inverter;
+    }
+
+    // EFFECTS: return the wiring of each rotor at rotation 0; the tables must not be changed
+    int[][] getRotorTables() {
+        return this.rotorWirings;
+    }
+
+    // EFFECTS: return the rotations at position 0; the array must not be changed
+    int[] getStartRotationTable() {
+        return this.startRotations;
+    }
+
+    // EFFECTS: return the sorted notches of each rotor; the arrays must not be changed
+    int[][] getNotches() {
+        return this.notches;
+    }
+
+    // EFFECTS: return whether rotor r has a notch at rotation p, at [r][p];
+    //          the tables must not be changed
+    boolean[][] getNotchTables() {
+        return this.notchTables;
+    }
+
+    // EFFECTS: return the rule by which the rotors rotate
+    public SteppingPolicy getSteppingPolicy() {
+        return this.stepping;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: return the rotations at every position, compiled the first time this is called,
+    //          or null if the stepping policy is seekable or the table would be more than
+    //          SteppingTable.MEMORY_BUDGET bytes
+    synchronized SteppingTable getSteppingTable() {
+        if (!steppingTableCompiled && !(stepping instanceof SeekableStepping)) {
+            steppingTable = SteppingTable.compile(stepping, startRotations, size, notchTables,
+                    SteppingTable.MEMORY_BUDGET);
+        }
+        steppingTableCompiled = true;
+        return this.steppingTable;
+    }
+
+    // EFFECTS: return true if the stepping table has been compiled, or found too large
+    synchronized boolean isSteppingTableCompiled() {
+        return this.steppingTableCompiled;
+    }
+
+    // EFFECTS: return the period table, null if not precomputed; the table must not be changed
+    char[] getPeriodTable() {
+        return this.periodTable;
+    }
+}
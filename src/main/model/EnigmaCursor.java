@@ -0,0 +1,280 @@
+package model;
+
+/*
+The state of one encryption session over a shared EnigmaConfig: the rotation
+of every rotor and the number of symbols encrypted. Cursors never change
+their configuration, so many cursors on different threads can encrypt
+against one configuration without locking; a single cursor is not meant to
+be shared between threads.
+This class should contain the following information:
+    1. The configuration it encrypts with
+    2. The rotation of every rotor, which changes after each encryption
+    3. For every rotor after the first, the composed wiring of that rotor, the
+       rotors after it and the inverter, rebuilt only after one of them rotates;
+       unless the stepping policy rotates those rotors on most symbols, when the
+       signal passes the rotors one by one instead
+ */
+public class EnigmaCursor {
+
+    // The shared configuration
+    private final EnigmaConfig config;
+    // Number of possible inputs and outputs
+    private final int size;
+    // Tables of the configuration, kept here for the encryption loop
+    private final int[] plugboard;
+    private final int[] inverter;
+    private final int[][] rotorWirings;
+    private final char[] periodTable;
+    private final boolean[][] notchTables;
+    private final SteppingPolicy stepping;
+    // Rotations at every position, once this cursor has seeked with a policy that is not seekable
+    private SteppingTable steppingTable;
+    // Current rotation of each rotor
+    private final int[] rotations;
+    // Composed wiring, there and back, of rotor r, the rotors after it and the inverter,
+    // for every rotor r after the first
+    private final int[][] cores;
+    // Whether the composed wiring is used, or the rotors are passed one by one
+    private final boolean composeCores;
+    // Rotors 1 to staleCores have rotated since their composed wiring was built
+    private int staleCores;
+    // Number of composed wiring tables built
+    private long coreRebuilds;
+    // Number of symbols encrypted since position 0
+    private long position;
+    // Start of the current rotation's outputs in periodTable
+    private int periodOffset;
+    // Index of the current rotations in steppingTable
+    private int steppingIndex;
+
+    // REQUIRES: rotations has one rotation in [0, config.getSize()) per rotor of config
+    // EFFECTS: make a cursor over config at the given rotations and position
+    EnigmaCursor(EnigmaConfig config, int[] rotations, long position) {
+        this.config = config;
+        this.size = config.getSize();
+        this.plugboard = config.getPlugboardTable();
+        this.inverter = config.getInverterTable();
+        this.rotorWirings = config.getRotorTables();
+        this.periodTable = config.getPeriodTable();
+        this.notchTables = config.getNotchTables();
+        this.stepping = config.getSteppingPolicy();
+        this.rotations = rotations;
+        this.position = position;
+        this.composeCores = stepping.innerRotorsMoveRarely();
+        this.staleCores = rotations.length - 1;
+        this.cores = new int[rotations.length][];
+        for (int r = 1; composeCores && r < rotations.length; r += 1) {
+            cores[r] = new int[size];
+        }
+        if (periodTable != null) {
+            periodOffset = periodIndex() * size;
+        }
+    }
+
+    // REQUIRES: s is one of the possible inputs
+    // MODIFIES: this
+    // EFFECTS: encrypt the symbol into a different symbol
+    public String encrypt(String s) {
+        SymbolCodec codec = config.getCodec();
+        return codec.decode(encrypt(codec.encode(s)));
+    }
+
+    // REQUIRES: 0 <= index < config.getSize()
+    // MODIFIES: this
+    // EFFECTS: encrypt the symbol at index into the index of a different symbol,
+    //          then rotate the rotors
+    public int encrypt(int index) {
+        if (periodTable != null) {
+            int output = periodTable[periodOffset + index];
+            periodOffset += size;
+            if (periodOffset == periodTable.length) {
+                periodOffset = 0;
+            }
+            position += 1;
+            return output;
+        }
+        int output = peek(index);
+        rotate();
+        return output;
+    }
+
+    // REQUIRES: 0 <= from, from + length <= input.length and output.length,
+    //           every index in the range is in [0, config.getSize())
+    // MODIFIES: this, output
+    // EFFECTS: encrypt length indices of input starting at from into output
+    public void encrypt(int[] input, int[] output, int from, int length) {
+        for (int i = from; i < from + length; i += 1) {
+            output[i] = encrypt(input[i]);
+        }
+    }
+
+    // REQUIRES: 0 <= index < config.getSize(), the period table is not in use
+    // MODIFIES: this
+    // EFFECTS: return the output index of the symbol at index, without rotating the rotors;
+    //          the signal passes the first rotor, the composed wiring of the other rotors
+    //          and the inverter, and the first rotor again
+    int peek(int index) {
+        return plugboard[passThroughCore(plugboard[index])];
+    }
+
+    // REQUIRES: 0 <= signal < config.getSize(), the period table is not in use
+    // MODIFIES: this
+    // EFFECTS: return the signal after it has passed the rotors, the inverter and the rotors
+    //          again, without the plugboard on either side, then rotate the rotors
+    int encryptBetweenPlugboards(int signal) {
+        int output = passThroughCore(signal);
+        rotate();
+        return output;
+    }
+
+    // REQUIRES: 0 <= signal < config.getSize()
+    // MODIFIES: this
+    // EFFECTS: return the signal after the first rotor, the composed wiring of the other rotors
+    //          and the inverter, and the first rotor again, without rotating the rotors
+    private int passThroughCore(int signal) {
+        if (rotations.length == 0) {
+            return inverter[signal];
+        }
+        if (!composeCores) {
+            return passThroughRotors(signal);
+        }
+        if (staleCores > 0) {
+            composeCores();
+        }
+        signal = passThroughRotor(0, signal);
+        signal = rotations.length == 1 ? inverter[signal] : cores[1][signal];
+        return passThroughRotor(0, signal);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rebuild the composed wiring of every rotor that has rotated, from the
+    //          last one to the second one, each from the one after it
+    private void composeCores() {
+        for (int r = staleCores; r >= 1; r -= 1) {
+            int[] inner = (r == rotations.length - 1) ? inverter : cores[r + 1];
+            for (int i = 0; i < size; i += 1) {
+                cores[r][i] = passThroughRotor(r, inner[passThroughRotor(r, i)]);
+            }
+            coreRebuilds += 1;
+        }
+        staleCores = 0;
+    }
+
+    // REQUIRES: 0 <= signal < config.getSize()
+    // EFFECTS: return the signal after every rotor, the inverter and every rotor again,
+    //          passing the rotors one by one
+    private int passThroughRotors(int signal) {
+        for (int r = 0; r < rotations.length; r += 1) {
+            signal = passThroughRotor(r, signal);
+        }
+        signal = inverter[signal];
+        for (int r = rotations.length - 1; r >= 0; r -= 1) {
+            signal = passThroughRotor(r, signal);
+        }
+        return signal;
+    }
+
+    // REQUIRES: 0 <= r < rotations.length, 0 <= i < size
+    // EFFECTS: return the index after passing through rotor r at its current rotation
+    private int passThroughRotor(int r, int i) {
+        int rotation = rotations[r];
+        int output = rotorWirings[r][(i + rotation) % size] - rotation;
+        return output < 0 ? output + size : output;
+    }
+
+    // REQUIRES: the period table is not in use
+    // MODIFIES: this
+    // EFFECTS: rotate the rotors the same way Enigma.encrypt does, by the stepping table
+    //          if there is one
+    void rotate() {
+        int last;
+        if (steppingTable != null) {
+            steppingIndex = steppingTable.next(steppingIndex);
+            last = steppingTable.rotationsAt(steppingIndex, rotations);
+        } else {
+            last = stepping.step(rotations, 0, rotations.length, size, notchTables);
+        }
+        staleCores = Math.max(staleCores, last);
+        position += 1;
+    }
+
+    // REQUIRES: position >= 0
+    // MODIFIES: this
+    // EFFECTS: set every rotor to its rotation after position symbols from position 0, in closed
+    //          form if the stepping policy is seekable, or by the stepping table of the
+    //          configuration otherwise; throws UnsupportedOperationException if the policy is not
+    //          seekable, its stepping table would be too large and position is not 0
+    public void seek(long position) {
+        if (stepping instanceof SeekableStepping) {
+            System.arraycopy(config.getStartRotationTable(), 0, rotations, 0, rotations.length);
+            ((SeekableStepping) stepping).advance(rotations, size, config.getNotches(), position);
+        } else {
+            steppingTable = config.getSteppingTable();
+            if (steppingTable != null) {
+                steppingIndex = steppingTable.indexOf(position);
+                steppingTable.rotationsAt(steppingIndex, rotations);
+            } else if (position == 0) {
+                System.arraycopy(config.getStartRotationTable(), 0, rotations, 0, rotations.length);
+            } else {
+                throw new UnsupportedOperationException("Cannot seek to position " + position
+                        + ": the stepping policy is not seekable and its stepping table is too large");
+            }
+        }
+        this.position = position;
+        staleCores = rotations.length - 1;
+        if (periodTable != null) {
+            periodOffset = periodIndex() * size;
+        }
+    }
+
+    // EFFECTS: return the rotations read as the digits of a number in base size
+    private int periodIndex() {
+        int index = 0;
+        for (int r = rotations.length - 1; r >= 0; r -= 1) {
+            index = index * size + rotations[r];
+        }
+        return index;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the period table is in use, set the rotations from the current period offset
+    private void syncRotations() {
+        if (periodTable != null) {
+            int index = periodOffset / size;
+            for (int r = 0; r < rotations.length; r += 1) {
+                rotations[r] = index % size;
+                index /= size;
+            }
+        }
+    }
+
+    // EFFECTS: return a cursor over the same configuration at the same position
+    public EnigmaCursor copy() {
+        syncRotations();
+        EnigmaCursor copy = new EnigmaCursor(config, rotations.clone(), position);
+        copy.steppingTable = steppingTable;
+        copy.steppingIndex = steppingIndex;
+        return copy;
+    }
+
+    // EFFECTS: return the number of symbols encrypted since position 0, as changed by seek
+    public long getPosition() {
+        return this.position;
+    }
+
+    // EFFECTS: return a copy of the current rotation of every rotor
+    public int[] getRotations() {
+        syncRotations();
+        return rotations.clone();
+    }
+
+    // EFFECTS: return the number of composed wiring tables built so far
+    long getCoreRebuilds() {
+        return this.coreRebuilds;
+    }
+
+    // EFFECTS: return the configuration this cursor encrypts with
+    public EnigmaConfig getConfig() {
+        return this.config;
+    }
+}
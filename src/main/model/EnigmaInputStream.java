@@ -0,0 +1,86 @@
+package model;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+An InputStream that encrypts the bytes of another InputStream through an
+Enigma machine as they are read. Every byte is read as an ISO-8859-1
+character; bytes that are not possible inputs of the machine are read
+unchanged. Nothing is added to the machine's original or encrypted messages.
+ */
+public class EnigmaInputStream extends FilterInputStream {
+
+    // Size of the buffer used to skip bytes
+    private static final int SKIP_BUFFER_SIZE = 1024;
+
+    // Encrypts each byte read
+    private final EnigmaCharTransform transform;
+
+    // REQUIRES: every possible input of enigma that is a character in 0-255
+    //           encrypts to a character in 0-255
+    // EFFECTS: make a stream that encrypts the bytes of in through enigma
+    public EnigmaInputStream(InputStream in, Enigma enigma) {
+        super(in);
+        this.transform = new EnigmaCharTransform(enigma);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read and return one encrypted byte, or -1 at the end of the stream
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            return -1;
+        }
+        return transform.transform((byte) b) & 0xFF;
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: read up to length encrypted bytes into buffer starting at offset,
+    //          return the number of bytes read, or -1 at the end of the stream
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            transform.transform(buffer, offset, read);
+        }
+        return read;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read and discard up to n bytes so the machine keeps rotating,
+    //          return the number of bytes skipped
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.max(0, Math.min(n, SKIP_BUFFER_SIZE))];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    // EFFECTS: return false, as the machine cannot rotate back to a mark
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    // EFFECTS: do nothing, as the machine cannot rotate back to a mark
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    // EFFECTS: throw IOException, as the machine cannot rotate back to a mark; the stream in
+    //          is not reset, since rewinding it alone would leave the machine out of step
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+An OutputStream that encrypts bytes through an Enigma machine before writing
+them to another OutputStream. Every byte is read as an ISO-8859-1 character;
+bytes that are not possible inputs of the machine are written unchanged.
+Bytes are encrypted through a buffer of fixed size, and nothing is added to
+the machine's original or encrypted messages.
+ */
+public class EnigmaOutputStream extends FilterOutputStream {
+
+    // Size of the buffer bytes are encrypted in
+    private static final int BUFFER_SIZE = 8192;
+
+    // Encrypts each byte written
+    private final EnigmaCharTransform transform;
+    // Encrypted bytes waiting to be written
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    // REQUIRES: every possible input of enigma that is a character in 0-255
+    //           encrypts to a character in 0-255
+    // EFFECTS: make a stream that encrypts bytes through enigma and writes them to out
+    public EnigmaOutputStream(OutputStream out, Enigma enigma) {
+        super(out);
+        this.transform = new EnigmaCharTransform(enigma);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encrypt and write one byte
+    @Override
+    public void write(int b) throws IOException {
+        out.write(transform.transform((byte) b));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encrypt and write length bytes of bytes starting at offset
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            int chunk = Math.min(length, BUFFER_SIZE);
+            System.arraycopy(bytes, offset, buffer, 0, chunk);
+            transform.transform(buffer, 0, chunk);
+            out.write(buffer, 0, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+}
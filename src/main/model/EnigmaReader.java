@@ -0,0 +1,85 @@
+package model;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/*
+A Reader that encrypts the characters of another Reader through an Enigma
+machine as they are read. Characters that are not possible inputs of the
+machine are read unchanged. The machine rotates as characters are read, and
+nothing is added to its original or encrypted messages.
+ */
+public class EnigmaReader extends FilterReader {
+
+    // Size of the buffer used to skip characters
+    private static final int SKIP_BUFFER_SIZE = 1024;
+
+    // Encrypts each character read
+    private final EnigmaCharTransform transform;
+
+    // EFFECTS: make a reader that encrypts the characters of in through enigma
+    public EnigmaReader(Reader in, Enigma enigma) {
+        super(in);
+        this.transform = new EnigmaCharTransform(enigma);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read and return one encrypted character, or -1 at the end of the stream
+    @Override
+    public int read() throws IOException {
+        int c = super.read();
+        if (c == -1) {
+            return -1;
+        }
+        return transform.transform((char) c);
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: read up to length encrypted characters into buffer starting at offset,
+    //          return the number of characters read, or -1 at the end of the stream
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            transform.transform(buffer, offset, read);
+        }
+        return read;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read and discard up to n characters so the machine keeps rotating,
+    //          return the number of characters skipped
+    @Override
+    public long skip(long n) throws IOException {
+        char[] buffer = new char[(int) Math.max(0, Math.min(n, SKIP_BUFFER_SIZE))];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    // EFFECTS: return false, as the machine cannot rotate back to a mark
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    // EFFECTS: throw IOException, as the machine cannot rotate back to a mark
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    // EFFECTS: throw IOException, as the machine cannot rotate back to a mark; the reader in
+    //          is not reset, since rewinding it alone would leave the machine out of step
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
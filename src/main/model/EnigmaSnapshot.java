@@ -0,0 +1,39 @@
+package model;
+
+/*
+The state of an Enigma machine's rotors at one moment, small enough to be
+taken and restored for every speculative step of a search.
+This class should contain the following information:
+    1. The rotation of every rotor in use
+    2. The number of symbols encrypted, as returned by Enigma.getPosition
+Notice: a snapshot holds no wiring and no message, and is never changed.
+ */
+public final class EnigmaSnapshot {
+
+    // Rotation of each rotor in use
+    private final int[] rotations;
+    // Number of symbols encrypted
+    private final long position;
+
+    // EFFECTS: make a snapshot that owns rotations
+    EnigmaSnapshot(int[] rotations, long position) {
+        this.rotations = rotations;
+        this.position = position;
+    }
+
+    // REQUIRES: 0 <= r < getRotorCount()
+    // EFFECTS: return the rotation of rotor r
+    public int getRotation(int r) {
+        return this.rotations[r];
+    }
+
+    // EFFECTS: return the number of rotors in use
+    public int getRotorCount() {
+        return this.rotations.length;
+    }
+
+    // EFFECTS: return the number of symbols encrypted
+    public long getPosition() {
+        return this.position;
+    }
+}
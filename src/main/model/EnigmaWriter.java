@@ -0,0 +1,64 @@
+package model;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+A Writer that encrypts characters through an Enigma machine before writing
+them to another Writer. Characters that are not possible inputs of the
+machine are written unchanged. Characters are encrypted through a buffer of
+fixed size, and nothing is added to the machine's original or encrypted
+messages.
+ */
+public class EnigmaWriter extends FilterWriter {
+
+    // Size of the buffer characters are encrypted in
+    private static final int BUFFER_SIZE = 1024;
+
+    // Encrypts each character written
+    private final EnigmaCharTransform transform;
+    // Encrypted characters waiting to be written
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    // EFFECTS: make a writer that encrypts characters through enigma and writes them to out
+    public EnigmaWriter(Writer out, Enigma enigma) {
+        super(out);
+        this.transform = new EnigmaCharTransform(enigma);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encrypt and write one character
+    @Override
+    public void write(int c) throws IOException {
+        out.write(transform.transform((char) c));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encrypt and write length characters of chars starting at offset
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        while (length > 0) {
+            int chunk = Math.min(length, BUFFER_SIZE);
+            System.arraycopy(chars, offset, buffer, 0, chunk);
+            transform.transform(buffer, 0, chunk);
+            out.write(buffer, 0, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encrypt and write length characters of str starting at offset
+    @Override
+    public void write(String str, int offset, int length) throws IOException {
+        while (length > 0) {
+            int chunk = Math.min(length, BUFFER_SIZE);
+            str.getChars(offset, offset + chunk, buffer, 0);
+            transform.transform(buffer, 0, chunk);
+            out.write(buffer, 0, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+}
@@ -5,8 +5,22 @@ import java.util.*;
 /*
 Gadget is an interface that has two main methods for its subtypes to implement.
 These two methods are shared commonly across Rotor class and Inverter class.
+The batch method passes a whole block of indices through the gadget as it is,
+so that an engine can run one gadget at a time over many symbols, and the
+wiring version tells when a mapping precomputed from the gadget is out of date.
  */
 public interface Gadget {
     // TODO: add changeElectricWiring method
     int passThroughWire(List<String> input, List<String> output, int i);
+
+    // REQUIRES: 0 <= from, from + length <= in.length and out.length,
+    //           every index in the range is in [0, the number of inputs)
+    // MODIFIES: out
+    // EFFECTS: set out[i] to in[i] passed through the gadget as it is now, for every i from from
+    //          to from + length - 1; in and out can be the same array
+    void passThroughWire(int[] in, int[] out, int from, int length);
+
+    // EFFECTS: return a number that changes every time the mapping of the gadget changes,
+    //          so that anything precomputed from the gadget knows when to redo it
+    long getWiringVersion();
 }
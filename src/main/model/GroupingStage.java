@@ -0,0 +1,41 @@
+package model;
+
+/*
+A TextStage that splits a message into groups of the same number of
+characters, as ciphertext was sent, by putting a separator between groups.
+ */
+class GroupingStage implements TextStage {
+
+    // Number of characters in a group
+    private final int size;
+    // Character put between groups
+    private final char separator;
+    // Number of characters passed on in the current group
+    private int count = 0;
+
+    // REQUIRES: size > 0
+    // EFFECTS: make a stage that puts separator between every size characters
+    GroupingStage(int size, char separator) {
+        this.size = size;
+        this.separator = separator;
+    }
+
+    // MODIFIES: this, next
+    // EFFECTS: pass c to next, after a separator if the current group is full
+    @Override
+    public void accept(char c, CharSink next) {
+        if (count == size) {
+            next.put(separator);
+            count = 0;
+        }
+        next.put(c);
+        count += 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: start the next message with an empty group
+    @Override
+    public void finish(CharSink next) {
+        count = 0;
+    }
+}
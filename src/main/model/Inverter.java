@@ -11,16 +11,26 @@ This class should include the following information:
     1. Mapping between possible inputs
     2. Position of each input
 Notice: this inverter does NOT rotate
-        the default inversion rule is symmetric
+        the default inversion rule is symmetric,
+        other wirings such as the historical UKW-B can be given at construction
  */
 public class Inverter extends JsonObjectFile implements Gadget {
 
+    // Inputs of the historical reflectors, in order
+    public static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    // Outputs of the historical wide reflector B (UKW-B) for the inputs of ALPHABET
+    public static final String UKW_B = "YRUHQSLDPXNGOKMIEBFZCWVJAT";
+    // Outputs of the historical wide reflector C (UKW-C) for the inputs of ALPHABET
+    public static final String UKW_C = "FVPJIAOYEDRZXWGCTKUQSBNMHL";
+
     // Mapping between possible inputs
     private Map<String, String> inversions = new HashMap<>();
     // Position of each possible input and output
     private List<String> io = new ArrayList<>();
     // Number of possible inputs/outputs
     private int numOfIO;
+    // Index of the output of each input, by the input's index
+    private int[] table;
 
     // REQUIRES: io.size() >= 2, and io.size() is even
     // MODIFIES: this
@@ -32,25 +42,81 @@ public class Inverter extends JsonObjectFile implements Gadget {
         for (int i = 0; i < numOfIO; i++) {
             inversions.put(this.io.get(i), this.io.get(numOfIO - 1 - i));
         }
+        compileInversions();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Initializes the given inversion wiring, and initializes io positions;
+    //          throws IllegalArgumentException if inversions does not map every input to a
+    //          different input of io that maps back to it
+    public Inverter(HashSet<String> io, Map<String, String> inversions) {
+        super("Inverter");
+        this.io.addAll(io);
+        numOfIO = this.io.size();
+        for (String input : this.io) {
+            String output = inversions.get(input);
+            if (output == null || output.equals(input) || !this.io.contains(output)
+                    || !input.equals(inversions.get(output))) {
+                throw new IllegalArgumentException("Inverter does not map " + input + " to another input"
+                        + " that maps back to it");
+            }
+            this.inversions.put(input, output);
+        }
+        compileInversions();
+    }
+
+    // REQUIRES: inputs and outputs have the same length
+    // EFFECTS: return the wiring that maps each character of inputs to the character of
+    //          outputs at the same position, such as ALPHABET to UKW_B
+    public static Map<String, String> wiringOf(String inputs, String outputs) {
+        Map<String, String> wiring = new HashMap<>();
+        for (int i = 0; i < inputs.length(); i += 1) {
+            wiring.put(String.valueOf(inputs.charAt(i)), String.valueOf(outputs.charAt(i)));
+        }
+        return wiring;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: turn inversions into a table from the index of an input to the index of its output
+    private void compileInversions() {
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < numOfIO; i += 1) {
+            indices.put(io.get(i), i);
+        }
+        table = new int[numOfIO];
+        for (int i = 0; i < numOfIO; i += 1) {
+            table[i] = indices.get(inversions.get(io.get(i)));
+        }
     }
 
     // REQUIRES: 0 <= i < io.size()
-    // EFFECTS: inputSide and outputSide will first be re-referred to this.io
-    //          return the index of output (inverted input) given the input's index
+    // EFFECTS: return the index of output (inverted input) given the input's index;
+    //          inputSide and outputSide are always the io of the inverter and are not used
     @Override
     public int passThroughWire(List<String> inputSide, List<String> outputSide, int i) {
-        inputSide = io;
-        outputSide = io;
-        String input = inputSide.get(i);
-        String output = inversions.get(input);
-        return outputSide.indexOf(output);
+        return table[i];
     }
 
-    // TODO: add changeElectricWiring method
+    // REQUIRES: 0 <= from, from + length <= in.length and out.length,
+    //           every index in the range is in [0, io.size())
+    // MODIFIES: out
+    // EFFECTS: set out[i] to the index mapped from in[i], for every i in the range
+    @Override
+    public void passThroughWire(int[] in, int[] out, int from, int length) {
+        for (int i = from; i < from + length; i += 1) {
+            out[i] = table[in[i]];
+        }
+    }
+
+    // EFFECTS: return 0, as the wiring of an inverter never changes
+    @Override
+    public long getWiringVersion() {
+        return 0;
+    }
 
-    // EFFECTS: return the inversion map
+    // EFFECTS: return the inversion map, which cannot be changed
     public Map<String, String> getInversions() {
-        return this.inversions;
+        return Collections.unmodifiableMap(this.inversions);
     }
 
     // EFFECTS: return the list of possible inputs
@@ -0,0 +1,32 @@
+package model;
+
+/*
+Stepping by notches: the first rotor rotates once per symbol, and every
+other rotor rotates once each time the rotor before it rotates away from
+one of its notches. With the default notch of every rotor at its last
+rotation, this is the same as odometer stepping.
+ */
+public final class NotchedStepping implements SeekableStepping {
+
+    // EFFECTS: rotate once the count rotors whose rotations start at from, and return the
+    //          index of the last rotor that rotated, -1 if count is 0
+    @Override
+    public int step(int[] rotations, int from, int count, int size, boolean[][] notches) {
+        return Odometer.step(rotations, from, count, size, notches);
+    }
+
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors as if steps symbols were encrypted, counting the notches
+    //          passed by each rotor
+    @Override
+    public void advance(int[] rotations, int size, int[][] notches, long steps) {
+        Odometer.advance(rotations, size, notches, steps);
+    }
+
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors back to where they were steps symbols ago
+    @Override
+    public void rewind(int[] rotations, int size, int[][] notches, long steps) {
+        Odometer.rewind(rotations, size, notches, steps);
+    }
+}
@@ -0,0 +1,149 @@
+package model;
+
+/*
+The stepping arithmetic of the Enigma machine, on the rotation of each rotor,
+shared by the stepping policies.
+The first rotor rotates once per encrypted symbol, and every other rotor
+rotates once each time the rotor before it steps away from one of its
+notches, like the digits of an odometer. With the default notch of every
+rotor at its last rotation this is a plain odometer, and in every case the
+rotations after any number of symbols follow from the starting rotations
+with a few divisions per rotor.
+With double stepping, a rotor whose notch engages the rotor after it also
+rotates itself, as on the historical machines; this has no closed form, so
+it can only be followed one symbol at a time.
+Notches are given either as flags, where notches[r][p] is true if rotor r
+has a notch at rotation p, or as the sorted rotations of the notches of each rotor.
+ */
+final class Odometer {
+
+    private Odometer() {
+    }
+
+    // REQUIRES: 0 <= from, from + count <= rotations.length,
+    //           0 <= rotations[r] < size for every r in the range,
+    //           notches[from + r] has the size notch flags of rotor from + r
+    // MODIFIES: rotations
+    // EFFECTS: rotate once the count rotors whose rotations start at from, return the
+    //          index (from 0 to count - 1) of the last rotor that rotated, -1 if count is 0
+    static int step(int[] rotations, int from, int count, int size, boolean[][] notches) {
+        for (int r = 0; r < count; r += 1) {
+            int rotation = rotations[from + r];
+            rotations[from + r] = rotation + 1 == size ? 0 : rotation + 1;
+            if (!notches[from + r][rotation]) {
+                return r;
+            }
+        }
+        return count - 1;
+    }
+
+    // REQUIRES: 0 <= from, from + count <= rotations.length,
+    //           0 <= rotations[r] < size for every r in the range
+    // MODIFIES: rotations
+    // EFFECTS: rotate once the count rotors whose rotations start at from, each one turning
+    //          the next as it completes a full round whatever its notches; return the index
+    //          (from 0 to count - 1) of the last rotor that rotated, -1 if count is 0
+    static int wrap(int[] rotations, int from, int count, int size) {
+        for (int r = 0; r < count; r += 1) {
+            rotations[from + r] += 1;
+            if (rotations[from + r] < size) {
+                return r;
+            }
+            rotations[from + r] = 0;
+        }
+        return count - 1;
+    }
+
+    // REQUIRES: count >= 0
+    // EFFECTS: return the sorted notches of count rotors that each have one notch,
+    //          at the last rotation
+    static int[][] lastRotationNotches(int count, int size) {
+        int[][] notches = new int[count][];
+        for (int r = 0; r < count; r += 1) {
+            notches[r] = new int[] {size - 1};
+        }
+        return notches;
+    }
+
+    // REQUIRES: same as step
+    // MODIFIES: rotations
+    // EFFECTS: rotate once with double stepping the count rotors whose rotations start at from:
+    //          the first rotor always rotates, and every other rotor rotates if the rotor
+    //          before it is at a notch, taking that rotor along; return the index (from 0 to
+    //          count - 1) of the last rotor that rotated, -1 if count is 0
+    static int doubleStep(int[] rotations, int from, int count, int size, boolean[][] notches) {
+        int last = count - 1;
+        while (last > 0 && !notches[from + last - 1][rotations[from + last - 1]]) {
+            last -= 1;
+        }
+        for (int r = last; r >= 1; r -= 1) {
+            int rotor = from + r;
+            boolean pushed = notches[rotor - 1][rotations[rotor - 1]];
+            boolean taken = r < count - 1 && notches[rotor][rotations[rotor]];
+            if (pushed || taken) {
+                rotations[rotor] = rotations[rotor] + 1 == size ? 0 : rotations[rotor] + 1;
+            }
+        }
+        if (count > 0) {
+            rotations[from] = rotations[from] + 1 == size ? 0 : rotations[from] + 1;
+        }
+        return last;
+    }
+
+    // REQUIRES: 0 <= rotations[r] < size for every r, steps >= 0,
+    //           notches[r] are the sorted rotations of the notches of rotor r
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors as if steps symbols were encrypted
+    static void advance(int[] rotations, int size, int[][] notches, long steps) {
+        long carry = steps;
+        for (int r = 0; r < rotations.length && carry > 0; r += 1) {
+            int rotation = rotations[r];
+            int rest = (int) (carry % size);
+            carry = carry / size * notches[r].length + countNotches(notches[r], rotation, rest, size);
+            rotations[r] = (rotation + rest) % size;
+        }
+    }
+
+    // REQUIRES: 0 <= rotations[r] < size for every r, steps >= 0,
+    //           notches[r] are the sorted rotations of the notches of rotor r
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors back to where they were steps symbols ago
+    static void rewind(int[] rotations, int size, int[][] notches, long steps) {
+        long borrow = steps;
+        for (int r = 0; r < rotations.length && borrow > 0; r += 1) {
+            int rest = (int) (borrow % size);
+            int start = rotations[r] - rest;
+            if (start < 0) {
+                start += size;
+            }
+            borrow = borrow / size * notches[r].length + countNotches(notches[r], start, rest, size);
+            rotations[r] = start;
+        }
+    }
+
+    // REQUIRES: notches is sorted, 0 <= from < size, 0 <= length < size
+    // EFFECTS: return the number of notches at the length rotations from from,
+    //          going around past the last rotation
+    private static int countNotches(int[] notches, int from, int length, int size) {
+        if (from + length <= size) {
+            return countBelow(notches, from + length) - countBelow(notches, from);
+        }
+        return notches.length - countBelow(notches, from) + countBelow(notches, from + length - size);
+    }
+
+    // REQUIRES: notches is sorted
+    // EFFECTS: return the number of notches below rotation
+    private static int countBelow(int[] notches, int rotation) {
+        int low = 0;
+        int high = notches.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (notches[middle] < rotation) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+/*
+Stepping like the digits of an odometer: the first rotor rotates once per
+symbol, and every other rotor rotates once each time the rotor before it
+completes a full round. Notches are not used.
+ */
+public final class OdometerStepping implements SeekableStepping {
+
+    // EFFECTS: rotate once the count rotors whose rotations start at from, and return the
+    //          index of the last rotor that rotated, -1 if count is 0
+    @Override
+    public int step(int[] rotations, int from, int count, int size, boolean[][] notches) {
+        return Odometer.wrap(rotations, from, count, size);
+    }
+
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors as if steps symbols were encrypted, with one division per rotor
+    @Override
+    public void advance(int[] rotations, int size, int[][] notches, long steps) {
+        Odometer.advance(rotations, size, Odometer.lastRotationNotches(rotations.length, size), steps);
+    }
+
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors back to where they were steps symbols ago
+    @Override
+    public void rewind(int[] rotations, int size, int[][] notches, long steps) {
+        Odometer.rewind(rotations, size, Odometer.lastRotationNotches(rotations.length, size), steps);
+    }
+}
@@ -0,0 +1,110 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+Encrypts long messages with a compiled Enigma machine on several threads.
+The message is split into chunks, every chunk is encrypted by its own cursor
+over the machine's configuration, at the chunk's position, and each chunk
+writes its own part of the output; the machine itself is only read and
+moved on the calling thread. The result is the same as encrypting the whole message
+in order with the machine.
+ */
+public class ParallelEnigma {
+
+    // Default number of symbols one task encrypts
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    // The machine whose position the message starts from
+    private final CompiledEnigma enigma;
+    // Threads that encrypt the chunks
+    private final ForkJoinPool pool;
+    // Number of symbols one task encrypts
+    private final int chunkSize;
+
+    // EFFECTS: make a parallel encryption on the common pool with the default chunk size
+    public ParallelEnigma(CompiledEnigma enigma) {
+        this(enigma, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    // REQUIRES: chunkSize > 0
+    // EFFECTS: make a parallel encryption that runs chunks of chunkSize symbols on pool
+    public ParallelEnigma(CompiledEnigma enigma, ForkJoinPool pool, int chunkSize) {
+        this.enigma = enigma;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    // REQUIRES: 0 <= from, from + length <= input.length and output.length,
+    //           every index in the range is in [0, enigma.getSize())
+    // MODIFIES: enigma, output
+    // EFFECTS: encrypt length indices of input starting at from into output,
+    //          then move enigma to the position after the last symbol; throws
+    //          UnsupportedOperationException if enigma cannot seek, as EnigmaCursor.seek
+    public void encrypt(int[] input, int[] output, int from, int length) {
+        long start = enigma.getPosition();
+        pool.invoke(new EncryptTask(enigma.getConfig(), chunkSize, input, output, from, length, start));
+        enigma.seek(start + length);
+    }
+
+    // REQUIRES: every character of message is one of the possible inputs
+    // MODIFIES: enigma
+    // EFFECTS: encrypt every character of message and return the encrypted message
+    public String encryptMessage(CharSequence message) {
+        int[] indices = new int[message.length()];
+        for (int i = 0; i < indices.length; i += 1) {
+            indices[i] = enigma.indexOf(String.valueOf(message.charAt(i)));
+        }
+        encrypt(indices, indices, 0, indices.length);
+        StringBuilder encrypted = new StringBuilder(indices.length);
+        for (int index : indices) {
+            encrypted.append(enigma.getIO().get(index));
+        }
+        return encrypted.toString();
+    }
+
+    /*
+    Encrypts one range of the message, splitting it in half until it is
+    no longer than chunkSize. Tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class EncryptTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // The configuration each chunk makes its own cursor over
+        private final EnigmaConfig config;
+        private final int chunkSize;
+        private final int[] input;
+        private final int[] output;
+        private final int from;
+        private final int length;
+        // Position of the symbol at from in the message
+        private final long position;
+
+        EncryptTask(EnigmaConfig config, int chunkSize, int[] input, int[] output, int from, int length,
+                    long position) {
+            this.config = config;
+            this.chunkSize = chunkSize;
+            this.input = input;
+            this.output = output;
+            this.from = from;
+            this.length = length;
+            this.position = position;
+        }
+
+        // MODIFIES: output
+        // EFFECTS: encrypt the range with a new cursor over config at the range's position
+        @Override
+        protected void compute() {
+            if (length <= chunkSize) {
+                config.newCursor(position).encrypt(input, output, from, length);
+            } else {
+                int half = length / 2;
+                invokeAll(new EncryptTask(config, chunkSize, input, output, from, half, position),
+                        new EncryptTask(config, chunkSize, input, output, from + half, length - half,
+                                position + half));
+            }
+        }
+    }
+}
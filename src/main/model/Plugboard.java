@@ -11,40 +11,168 @@ This class should contain:
     2. Position of each input on the plugboard
 Notice: The positions of the inputs are irrelevant to encryption,
         the default setup is no mappings between inputs.
+        The mappings are kept as the index each index is connected to,
+        which is always a pairing: if i is connected to j, j is connected to i,
+        and an input that is not connected is mapped to itself.
  */
 public class Plugboard extends JsonObjectFile implements Gadget {
 
-    // Mappings between inputs
-    private Map<String, String> connections = new HashMap<>();
+    // Mappings between inputs, as a view of pairs
+    private Map<String, String> connections = new ConnectionMap();
     // Positions of inputs
     private List<String> io = new ArrayList<>();
+    // Position of each input
+    private Map<String, Integer> ioIndices = new HashMap<>();
+    // Index each index is connected to
+    private int[] pairs;
+    // Number of changes made to pairs
+    private long wiringVersion = 0;
 
     // REQUIRES: io.size() >= 2, and is even
     // MODIFIES: this
     // EFFECTS: make a plugboard with default setup
     public Plugboard(HashSet<String> io) {
         super("Plugboard");
-        for (String s : io) {
-            connections.put(s, s);
-        }
         this.io.addAll(io);
+        this.pairs = new int[io.size()];
+        for (int i = 0; i < this.io.size(); i += 1) {
+            ioIndices.put(this.io.get(i), i);
+            pairs[i] = i;
+        }
+    }
+
+    // EFFECTS: make a plugboard with the same inputs, in the same order, and the same
+    //          connections as plugboard, that is changed independently of it
+    Plugboard(Plugboard plugboard) {
+        super("Plugboard");
+        this.io.addAll(plugboard.io);
+        this.ioIndices.putAll(plugboard.ioIndices);
+        this.pairs = plugboard.pairs.clone();
+    }
+
+    // REQUIRES: io.size() >= 2, and is even
+    // MODIFIES: this
+    // EFFECTS: make a plugboard with the given mappings; inputs missing from connections
+    //          are not connected; throws IllegalArgumentException if connections maps
+    //          something that is not an input, or is not a pairing
+    public Plugboard(HashSet<String> io, Map<String, String> connections) {
+        this(io);
+        for (Map.Entry<String, String> connection : connections.entrySet()) {
+            int from = indexOf(connection.getKey());
+            int to = indexOf(connection.getValue());
+            if (pairs[from] != to) {
+                connect(from, to);
+            }
+        }
     }
 
     // REQUIRES: 0 <= i < io.size()
-    // EFFECTS: First re-refer inputSide and outputSide to io
-    //          return the mapping of the string at index i
+    // EFFECTS: return the index of the input mapped from the input at index i;
+    //          inputSide and outputSide are always the io of the plugboard and are not used
     @Override
     public int passThroughWire(List<String> inputSide, List<String> outputSide, int i) {
-        inputSide = io;
-        outputSide = io;
-        String input = inputSide.get(i);
-        String output = connections.get(input);
-        return outputSide.indexOf(output);
+        return pairs[i];
+    }
+
+    // REQUIRES: 0 <= from, from + length <= in.length and out.length,
+    //           every index in the range is in [0, io.size())
+    // MODIFIES: out
+    // EFFECTS: set out[i] to the index mapped from in[i], for every i in the range
+    @Override
+    public void passThroughWire(int[] in, int[] out, int from, int length) {
+        for (int i = from; i < from + length; i += 1) {
+            out[i] = pairs[in[i]];
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: connect input a with input b; throws IllegalArgumentException if either is not
+    //          an input, if they are the same, or if either is already connected
+    public void connect(String a, String b) {
+        connect(indexOf(a), indexOf(b));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: connect the inputs at indices a and b; throws IllegalArgumentException if either
+    //          index is out of range, if they are the same, or if either is already connected
+    public void connect(int a, int b) {
+        checkIndex(a);
+        checkIndex(b);
+        if (a == b || pairs[a] != a || pairs[b] != b) {
+            throw new IllegalArgumentException("Cannot connect " + io.get(a) + " with " + io.get(b));
+        }
+        pairs[a] = b;
+        pairs[b] = a;
+        wiringVersion += 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove the connection of input a, if any, so that a and the input it was
+    //          connected to map to themselves; throws IllegalArgumentException if a is not an input
+    public void disconnect(String a) {
+        disconnect(indexOf(a));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove the connection of the input at index a, if any;
+    //          throws IllegalArgumentException if a is out of range
+    public void disconnect(int a) {
+        checkIndex(a);
+        int b = pairs[a];
+        pairs[a] = a;
+        pairs[b] = b;
+        wiringVersion += 1;
     }
 
-    // TODO: add changeElectricWiring method
+    // MODIFIES: this
+    // EFFECTS: exchange the places of inputs a and b on the plugboard: a becomes connected to
+    //          what b was connected to and the other way around, and a pair of a and b is kept;
+    //          throws IllegalArgumentException if either is not an input
+    public void swap(String a, String b) {
+        swap(indexOf(a), indexOf(b));
+    }
 
-    // EFFECTS: return mapping between two io
+    // MODIFIES: this
+    // EFFECTS: exchange the places of the inputs at indices a and b on the plugboard;
+    //          throws IllegalArgumentException if either index is out of range
+    public void swap(int a, int b) {
+        checkIndex(a);
+        checkIndex(b);
+        int pa = pairs[a];
+        int pb = pairs[b];
+        if (pa == b) {
+            return;
+        }
+        pairs[a] = (pb == b) ? a : pb;
+        pairs[b] = (pa == a) ? b : pa;
+        pairs[pairs[a]] = a;
+        pairs[pairs[b]] = b;
+        wiringVersion += 1;
+    }
+
+    // EFFECTS: return the number of changes made to the connections
+    @Override
+    public long getWiringVersion() {
+        return this.wiringVersion;
+    }
+
+    // EFFECTS: return the index of input s; throws IllegalArgumentException if s is not an input
+    private int indexOf(String s) {
+        Integer index = ioIndices.get(s);
+        if (index == null) {
+            throw new IllegalArgumentException(s + " is not an input of the plugboard");
+        }
+        return index;
+    }
+
+    // EFFECTS: throws IllegalArgumentException if i is not the index of an input
+    private void checkIndex(int i) {
+        if (i < 0 || i >= pairs.length) {
+            throw new IllegalArgumentException(i + " is not the index of an input of the plugboard");
+        }
+    }
+
+    // EFFECTS: return mapping between two io, which follows later changes and cannot be changed
     public Map<String, String> getConnections() {
         return this.connections;
     }
@@ -61,4 +189,34 @@ public class Plugboard extends JsonObjectFile implements Gadget {
         plugboardJson.put("io", this.io);
         return plugboardJson;
     }
+
+    /*
+    The mappings between inputs as a map from each input to the input it is
+    connected to, read from pairs.
+     */
+    private class ConnectionMap extends AbstractMap<String, String> {
+
+        // EFFECTS: return the input key is connected to, null if key is not an input
+        @Override
+        public String get(Object key) {
+            Integer index = ioIndices.get(key);
+            return index == null ? null : io.get(pairs[index]);
+        }
+
+        // EFFECTS: return true if key is an input
+        @Override
+        public boolean containsKey(Object key) {
+            return ioIndices.containsKey(key);
+        }
+
+        // EFFECTS: return the mapping of every input, in plugboard order
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            Set<Entry<String, String>> entries = new LinkedHashSet<>();
+            for (int i = 0; i < io.size(); i += 1) {
+                entries.add(new SimpleImmutableEntry<>(io.get(i), io.get(pairs[i])));
+            }
+            return Collections.unmodifiableSet(entries);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package model;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.*;
@@ -12,6 +13,10 @@ import java.util.*;
  *   2. The wiring between a pair of input and output.
  * All methods in this class will act upon and modify these two fields.
  * Requires the number of inputs/outputs to be an even number.
+ * The inputs/outputs are remapped once to dense codes, and the wiring is kept as a
+ * char table (an int table past 65,536 inputs) between codes, so a pass through the
+ * rotor costs the same for any size of alphabet. Rotors copied from a rotor share
+ * its codes and wiring table, and only keep where their own positions start.
  * */
 public class Rotor extends JsonObjectFile implements Gadget {
 
@@ -20,10 +25,27 @@ public class Rotor extends JsonObjectFile implements Gadget {
     // Number of rotations from starting position
     private int rotation = 0;
     // Starting position of each input and output
-    private List<String> rotorRight = new ArrayList<>();
-    private List<String> rotorLeft = new ArrayList<>();
-    // Wiring of the rotor
-    private Map<String, String> rotorWiring = new HashMap<>();
+    private List<String> io = new ArrayList<>();
+    // Starting index of each input and output
+    private SymbolCodec ioCodes;
+    // Starting index of the input/output at rotation 0
+    private int origin = 0;
+    // Position of each input and output at the current rotation
+    private List<String> rotorRight = new RotatedSide();
+    private List<String> rotorLeft = new RotatedSide();
+    // Wiring of the rotor, built from wiringTable when first asked for if not given
+    private Map<String, String> rotorWiring;
+    // Wiring of the rotor between starting indices, one of them null
+    private char[] wiringTable;
+    private int[] wideWiringTable;
+    // Sorted rotations at which the rotor turns the next rotor as it rotates away
+    private int[] notches;
+    // Whether the rotor is at a notch, by rotation
+    private boolean[] notchTable;
+    // Offset of the wiring against the positions, in rotations
+    private int ringSetting = 0;
+    // Number of changes made to the rotation and the ring setting
+    private long wiringVersion = 0;
 
     // REQUIRES: io.size() >= 2, the number of elements is even.
     //           0 <= contact < io.size()
@@ -35,25 +57,85 @@ public class Rotor extends JsonObjectFile implements Gadget {
     public Rotor(String name, LinkedHashSet<String> io) {
         super("Rotor");
         this.name = name;
-        this.rotorRight.addAll(io);
-        this.rotorLeft.addAll(io);
-        for (int i = 0; i < io.size(); i++) {
-            this.rotorWiring.put(rotorRight.get(i), rotorLeft.get(i));
+        this.io.addAll(io);
+        this.ioCodes = new SymbolCodec(this.io);
+        int[] identity = new int[this.io.size()];
+        for (int i = 0; i < identity.length; i += 1) {
+            identity[i] = i;
         }
+        setWiringTable(identity);
+        setNotches(identity.length - 1);
     }
 
     // REQUIRES: io has an even number of elements, no duplicate elements;
     //           rotorWiring has the same elements as io
     // MODIFIES: this
     // EFFECTS: Serves as a copy constructor to copy an existing rotor's specification to a new
-    //          Rotor object
+    //          Rotor object; the rotor keeps its own copy of io so that rotating this rotor
+    //          never moves the positions of the rotor it was copied from
     public Rotor(String name, List<String> io,
                  Map<String, String> rotorWiring) {
         super("Rotor");
         this.name = name;
-        this.rotorRight = io;
-        this.rotorLeft = io;
+        this.io.addAll(io);
         this.rotorWiring = rotorWiring;
+        compileWiring();
+    }
+
+    // EFFECTS: make a rotor with the same name and rotation as rotor that shares its
+    //          starting positions and wiring, which are never changed after construction
+    Rotor(Rotor rotor) {
+        this(rotor.name, rotor, rotor.origin);
+        this.rotation = rotor.rotation;
+    }
+
+    // EFFECTS: make a rotor named name at rotation 0, whose positions start where rotor is at
+    //          its current rotation, with the same wiring, notches and ring setting;
+    //          it shares the codes and wiring table of rotor, so it is made in constant time
+    Rotor(String name, Rotor rotor) {
+        this(name, rotor, (rotor.origin + rotor.rotation) % rotor.io.size());
+    }
+
+    // EFFECTS: make a rotor named name at rotation 0 that shares everything but its
+    //          rotation with rotor, and whose positions start at origin
+    private Rotor(String name, Rotor rotor, int origin) {
+        super("Rotor");
+        this.name = name;
+        this.origin = origin;
+        this.io = rotor.io;
+        this.ioCodes = rotor.ioCodes;
+        this.rotorWiring = rotor.rotorWiring;
+        this.wiringTable = rotor.wiringTable;
+        this.wideWiringTable = rotor.wideWiringTable;
+        this.notches = rotor.notches;
+        this.notchTable = rotor.notchTable;
+        this.ringSetting = rotor.ringSetting;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: give the starting positions their codes and turn rotorWiring into a table
+    //          from the starting index of an input to the starting index of its output
+    private void compileWiring() {
+        ioCodes = new SymbolCodec(io);
+        int[] table = new int[io.size()];
+        for (int i = 0; i < io.size(); i += 1) {
+            table[i] = ioCodes.encode(rotorWiring.get(io.get(i)));
+        }
+        setWiringTable(table);
+        setNotches(io.size() - 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keep table as a char table if every index fits in a char, else as an int table
+    private void setWiringTable(int[] table) {
+        if (table.length <= Character.MAX_VALUE + 1) {
+            wiringTable = new char[table.length];
+            for (int i = 0; i < table.length; i += 1) {
+                wiringTable[i] = (char) table[i];
+            }
+        } else {
+            wideWiringTable = table;
+        }
     }
 
     // TODO: Add changeElectricInputs, changeElectricOutputs and changeElectricWiring methods
@@ -61,21 +143,18 @@ public class Rotor extends JsonObjectFile implements Gadget {
     // MODIFIES: this
     // EFFECTS: Move every element in rotorRight and rotorLeft backward by one position,
     //          The first element in the list becomes the last;
-    //          Increment the number of rotations by 1:
-    //              If the result is equal to the size of inputs, reset to 0, return True;
-    //              else, return False;
+    //          Increment the number of rotations by 1, reset to 0 if it reaches the size of inputs;
+    //          return True if the rotor was at a notch before rotating, else, return False;
+    //          with the default notch, that is when the rotations reset to 0;
+    //          Both sides are views offset by the number of rotations, so nothing is moved
     public boolean rotate() {
-        this.rotorRight.add(this.rotorRight.get(0));
-        this.rotorRight.remove(0);
-        this.rotorLeft.add(this.rotorLeft.get(0));
-        this.rotorLeft.remove(0);
+        boolean atNotch = this.notchTable[this.rotation];
         this.rotation += 1;
-        if (this.rotation == this.rotorRight.size()) {
+        if (this.rotation == this.io.size()) {
             this.rotation = 0;
-            return true;
-        } else {
-            return false;
         }
+        this.wiringVersion += 1;
+        return atNotch;
     }
 
     // REQUIRES: 0 <= i < this.electricInputs.size()
@@ -83,16 +162,120 @@ public class Rotor extends JsonObjectFile implements Gadget {
     //           outputSide is equal to one of rotorLeft or rotorRight
     //           inputSide and outputSide must be one of each from rotor's
     //           two sides
-    // EFFECTS: return the output's index given the input's index
+    // EFFECTS: return the output's index given the input's index;
+    //          both sides share the current rotation, so the index is shifted back to the
+    //          starting position, wired, and shifted forward again; the wiring is behind
+    //          the positions by the ring setting
     public int passThroughWire(List<String> inputSide, List<String> outputSide, int i) {
-        String input = inputSide.get(i);
-        String output = rotorWiring.get(input);
-        return outputSide.indexOf(output);
+        int size = io.size();
+        int offset = wiringOffset();
+        int start = (i + offset) % size;
+        int output = (wiringTable != null ? wiringTable[start] : wideWiringTable[start]) - offset;
+        return output < 0 ? output + size : output;
+    }
+
+    // REQUIRES: 0 <= from, from + length <= in.length and out.length,
+    //           every index in the range is in [0, the number of inputs)
+    // MODIFIES: out
+    // EFFECTS: set out[i] to the output's index of the input at index in[i], at the current
+    //          rotation, for every i in the range; the offset is worked out once for the block
+    @Override
+    public void passThroughWire(int[] in, int[] out, int from, int length) {
+        int size = io.size();
+        int offset = wiringOffset();
+        for (int i = from; i < from + length; i += 1) {
+            int start = in[i] + offset;
+            start = start >= size ? start - size : start;
+            int output = (wiringTable != null ? wiringTable[start] : wideWiringTable[start]) - offset;
+            out[i] = output < 0 ? output + size : output;
+        }
+    }
+
+    // EFFECTS: return how far the wiring is turned from the starting positions, in [0, size)
+    private int wiringOffset() {
+        int offset = rotation + origin - ringSetting;
+        if (offset < 0) {
+            offset += io.size();
+        } else if (offset >= io.size()) {
+            offset -= io.size();
+        }
+        return offset;
     }
 
     // EFFECTS: return the input at index 0
     public String display() {
-        return this.rotorRight.get(0);
+        return this.io.get((rotation + origin) % io.size());
+    }
+
+    // REQUIRES: 0 <= rotation < the number of inputs
+    // MODIFIES: this
+    // EFFECTS: set the number of rotations from starting position
+    public void setRotation(int rotation) {
+        this.rotation = rotation;
+        this.wiringVersion += 1;
+    }
+
+    // REQUIRES: 0 <= every element of notches < the number of inputs
+    // MODIFIES: this
+    // EFFECTS: set the rotations at which the rotor turns the next rotor as it rotates away;
+    //          the default is only the last rotation, and no notches means it never does
+    public void setNotches(int... notches) {
+        boolean[] table = new boolean[io.size()];
+        for (int notch : notches) {
+            table[notch] = true;
+        }
+        int count = 0;
+        for (boolean atNotch : table) {
+            count += atNotch ? 1 : 0;
+        }
+        int[] sorted = new int[count];
+        int i = 0;
+        for (int r = 0; r < table.length; r += 1) {
+            if (table[r]) {
+                sorted[i] = r;
+                i += 1;
+            }
+        }
+        this.notches = sorted;
+        this.notchTable = table;
+    }
+
+    // EFFECTS: return the sorted rotations at which the rotor turns the next rotor
+    public int[] getNotches() {
+        return this.notches.clone();
+    }
+
+    // EFFECTS: return whether the rotor is at a notch, by rotation; the table is replaced,
+    //          never changed, when the notches are set
+    boolean[] getNotchTable() {
+        return this.notchTable;
+    }
+
+    // EFFECTS: return true if the rotor turns the next rotor as it rotates away from
+    //          the current rotation
+    public boolean isAtNotch() {
+        return this.notchTable[this.rotation];
+    }
+
+    // REQUIRES: 0 <= ringSetting < the number of inputs
+    // MODIFIES: this
+    // EFFECTS: set the offset of the wiring against the positions; the notches and the
+    //          displayed input stay with the positions
+    public void setRingSetting(int ringSetting) {
+        this.ringSetting = ringSetting;
+        this.wiringVersion += 1;
+    }
+
+    // EFFECTS: return the number of changes made to the rotation and the ring setting,
+    //          which are what move the wiring between the positions
+    @Override
+    public long getWiringVersion() {
+        return this.wiringVersion;
+    }
+
+    // EFFECTS: return the offset of the wiring against the positions
+    public int getRingSetting() {
+        return this.ringSetting;
     }
 
     // EFFECTS: return the name of the rotor
@@ -115,11 +298,27 @@ public class Rotor extends JsonObjectFile implements Gadget {
         return this.rotorLeft;
     }
 
-    // EFFECTS: return the electricWiring map
+    // EFFECTS: return the electricWiring map, built from the wiring table the first time
     public Map<String, String> getRotorWiring() {
+        if (this.rotorWiring == null) {
+            Map<String, String> wiring = new HashMap<>();
+            for (int i = 0; i < io.size(); i += 1) {
+                int output = wiringTable != null ? wiringTable[i] : wideWiringTable[i];
+                wiring.put(io.get(i), io.get(output));
+            }
+            this.rotorWiring = wiring;
+        }
         return this.rotorWiring;
     }
 
+    // EFFECTS: return the number of bytes taken by the wiring and notch tables of this rotor;
+    //          the tables may be shared with the rotors it was copied from or to
+    public long getTableBytes() {
+        long wiringBytes = wiringTable != null ? (long) Character.BYTES * wiringTable.length
+                : (long) Integer.BYTES * wideWiringTable.length;
+        return wiringBytes + notchTable.length + (long) Integer.BYTES * notches.length;
+    }
+
     // REQUIRES: 0 <= i < electricInputs.size()
     // EFFECTS: return the input at some index
     public String getRightWithIndex(int i) {
@@ -139,7 +338,39 @@ public class Rotor extends JsonObjectFile implements Gadget {
         rotorJson.put("rotation", this.rotation);
         rotorJson.put("rotorRight", this.rotorRight);
         rotorJson.put("rotorLeft", this.rotorLeft);
-        rotorJson.put("rotorWiring", this.rotorWiring);
+        rotorJson.put("rotorWiring", getRotorWiring());
+        rotorJson.put("notches", new JSONArray(this.notches));
+        rotorJson.put("ringSetting", this.ringSetting);
         return rotorJson;
     }
+
+    /*
+    One side of the rotor as seen at the current rotation: index i holds
+    the input/output at starting index (i + rotation) modulo the size.
+     */
+    private class RotatedSide extends AbstractList<String> {
+
+        // REQUIRES: 0 <= i < size()
+        // EFFECTS: return the input/output at index i
+        @Override
+        public String get(int i) {
+            return io.get((i + rotation + origin) % io.size());
+        }
+
+        // EFFECTS: return the index of o at the current rotation, -1 if o is not on this side
+        @Override
+        public int indexOf(Object o) {
+            int start = o instanceof String ? ioCodes.encode((String) o) : -1;
+            if (start < 0) {
+                return -1;
+            }
+            return (start - rotation - origin + 2 * io.size()) % io.size();
+        }
+
+        // EFFECTS: return the number of inputs/outputs
+        @Override
+        public int size() {
+            return io.size();
+        }
+    }
 }
@@ -44,6 +44,18 @@ public class RotorBox {
         this.rotors.addAll(rotors);
     }
 
+    // EFFECTS: setup a rotor box with copies of the rotors of box, which share their wiring,
+    //          and the same default rotor, that is changed independently of box
+    RotorBox(RotorBox box) {
+        for (Rotor rotor : box.rotors) {
+            Rotor copy = new Rotor(rotor);
+            if (rotor == box.defaultRotor) {
+                defaultRotor = copy;
+            }
+            rotors.add(copy);
+        }
+    }
+
     // REQUIRES: rotor has the rotor.rotorRight, rotor.rotorLeft
     //           to have the same elements as user's indicated input
     // MODIFIES: this
@@ -0,0 +1,23 @@
+package model;
+
+/*
+A stepping policy whose rotations after any number of symbols follow
+directly from the starting rotations, so a machine can move to any
+position, forward or back, without stepping one symbol at a time.
+Policies that are not seekable are compiled by EnigmaConfig into a table
+of the rotations at every position, or followed one symbol at a time.
+ */
+public interface SeekableStepping extends SteppingPolicy {
+
+    // REQUIRES: 0 <= rotations[r] < size for every r, steps >= 0,
+    //           notches[r] are the sorted rotations of the notches of rotor r
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors as if steps symbols were encrypted
+    void advance(int[] rotations, int size, int[][] notches, long steps);
+
+    // REQUIRES: 0 <= rotations[r] < size for every r, steps >= 0,
+    //           notches[r] are the sorted rotations of the notches of rotor r
+    // MODIFIES: rotations
+    // EFFECTS: rotate the rotors back to where they were steps symbols ago
+    void rewind(int[] rotations, int size, int[][] notches, long steps);
+}
@@ -0,0 +1,37 @@
+package model;
+
+/*
+The rule by which the rotors of an Enigma machine rotate after each symbol.
+A policy changes only the rotations it is given, so one policy can be shared
+by any number of machines. Policies whose rotations after any number of
+symbols follow directly from the starting rotations are SeekableStepping;
+every other policy is compiled by EnigmaConfig into a table of the
+rotations at every position, so that exotic rules encrypt as fast as the
+plain ones.
+Rotor r of a machine is at rotations[from + r], and notches[from + r][p] is
+true if that rotor has a notch at rotation p.
+ */
+public interface SteppingPolicy {
+
+    // Every rotor turns the next as it completes a full round, whatever its notches
+    SteppingPolicy ODOMETER = new OdometerStepping();
+    // Every rotor turns the next as it rotates away from one of its notches
+    SteppingPolicy NOTCHED = new NotchedStepping();
+    // As NOTCHED, but a rotor at a notch also rotates along with the rotor it turns
+    SteppingPolicy DOUBLE_STEPPING = new DoubleStepping();
+
+    // REQUIRES: 0 <= from, from + count <= rotations.length and notches.length,
+    //           0 <= rotations[r] < size for every r in the range
+    // MODIFIES: rotations
+    // EFFECTS: rotate once the count rotors whose rotations start at from, and return the
+    //          largest index (from 0 to count - 1) of a rotor that rotated, -1 if none did
+    int step(int[] rotations, int from, int count, int size, boolean[][] notches);
+
+    // EFFECTS: return true if the rotors after the first rotate on few of the symbols, so that
+    //          a compiled machine gains by composing their wiring into one table each time they
+    //          do; a policy that rotates them on most symbols returns false, and is encrypted
+    //          rotor by rotor instead
+    default boolean innerRotorsMoveRarely() {
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package model;
+
+import java.util.*;
+
+/*
+A stepping policy compiled for one machine from its starting rotations:
+the rotations at every position, as the rotations read as the digits of a
+number in base size (the state). Since a machine has finitely many states,
+the states repeat from some position on; the table keeps every state up to
+the first repeat and the position where the repeating cycle starts, so the
+state at any position is one lookup and every step is one increment.
+ */
+final class SteppingTable {
+
+    // Memory budget for the tables of one machine, in bytes
+    static final long MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    // State at each position before the first repeat
+    private final int[] states;
+    // Position of the first state of the cycle
+    private final int cycleStart;
+    // Number of possible inputs/outputs
+    private final int size;
+    // Number of rotors
+    private final int rotors;
+
+    // EFFECTS: make a table of the given states
+    private SteppingTable(int[] states, int cycleStart, int size, int rotors) {
+        this.states = states;
+        this.cycleStart = cycleStart;
+        this.size = size;
+        this.rotors = rotors;
+    }
+
+    // REQUIRES: start has one rotation in [0, size) per rotor, notches has size flags per rotor
+    // EFFECTS: step policy from start until a state repeats and return the table, or return
+    //          null if the tables needed could be more than memoryBudget bytes
+    static SteppingTable compile(SteppingPolicy policy, int[] start, int size, boolean[][] notches,
+                                 long memoryBudget) {
+        long states = 1;
+        for (int r = 0; r < start.length && states * Integer.BYTES * 2 <= memoryBudget; r += 1) {
+            states *= size;
+        }
+        if (states * Integer.BYTES * 2 > memoryBudget || states > Integer.MAX_VALUE - 8) {
+            return null;
+        }
+        int[] firstPositions = new int[(int) states];
+        Arrays.fill(firstPositions, -1);
+        int[] orbit = new int[(int) states];
+        int[] rotations = start.clone();
+        int position = 0;
+        int state = stateOf(rotations, size);
+        while (firstPositions[state] < 0) {
+            firstPositions[state] = position;
+            orbit[position] = state;
+            position += 1;
+            policy.step(rotations, 0, rotations.length, size, notches);
+            state = stateOf(rotations, size);
+        }
+        return new SteppingTable(Arrays.copyOf(orbit, position), firstPositions[state], size, start.length);
+    }
+
+    // EFFECTS: return the rotations read as the digits of a number in base size
+    private static int stateOf(int[] rotations, int size) {
+        int state = 0;
+        for (int r = rotations.length - 1; r >= 0; r -= 1) {
+            state = state * size + rotations[r];
+        }
+        return state;
+    }
+
+    // REQUIRES: position >= 0
+    // EFFECTS: return the index in the table of the state at position
+    int indexOf(long position) {
+        if (position < states.length) {
+            return (int) position;
+        }
+        return (int) (cycleStart + (position - cycleStart) % (states.length - cycleStart));
+    }
+
+    // REQUIRES: 0 <= index < the number of states kept
+    // EFFECTS: return the index of the state one position after the state at index
+    int next(int index) {
+        return index + 1 == states.length ? cycleStart : index + 1;
+    }
+
+    // REQUIRES: 0 <= index < the number of states kept, rotations has one rotation per rotor
+    // MODIFIES: rotations
+    // EFFECTS: set rotations to the state at index, and return the largest index of a rotor
+    //          whose rotation changed, -1 if none did
+    int rotationsAt(int index, int[] rotations) {
+        int state = states[index];
+        int last = -1;
+        for (int r = 0; r < rotors; r += 1) {
+            int rotation = state % size;
+            if (rotations[r] != rotation) {
+                rotations[r] = rotation;
+                last = r;
+            }
+            state /= size;
+        }
+        return last;
+    }
+
+    // EFFECTS: return the number of positions before the states repeat
+    int getCycleStart() {
+        return this.cycleStart;
+    }
+
+    // EFFECTS: return the number of positions in the repeating cycle
+    int getCycleLength() {
+        return states.length - cycleStart;
+    }
+}
@@ -0,0 +1,39 @@
+package model;
+
+import java.util.*;
+
+/*
+A TextStage that replaces some characters with strings, looked up in a
+table indexed by character.
+ */
+class SubstitutionStage implements TextStage {
+
+    // Characters of the substitute of each character, null if it is passed unchanged
+    private final char[][] substitutes;
+
+    // EFFECTS: make a stage that replaces every key of substitutes with its value
+    SubstitutionStage(Map<Character, String> substitutes) {
+        int maxChar = -1;
+        for (char c : substitutes.keySet()) {
+            maxChar = Math.max(maxChar, c);
+        }
+        this.substitutes = new char[maxChar + 1][];
+        for (Map.Entry<Character, String> substitute : substitutes.entrySet()) {
+            this.substitutes[substitute.getKey()] = substitute.getValue().toCharArray();
+        }
+    }
+
+    // MODIFIES: next
+    // EFFECTS: pass the substitute of c to next, or c if it has none
+    @Override
+    public void accept(char c, CharSink next) {
+        char[] substitute = c < substitutes.length ? substitutes[c] : null;
+        if (substitute == null) {
+            next.put(c);
+            return;
+        }
+        for (char s : substitute) {
+            next.put(s);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package model;
+
+import java.util.*;
+
+/*
+Maps the possible inputs/outputs of an Enigma machine to dense int codes
+and back. The code of a symbol is its position in the list the codec is
+built from, which for a machine is the order of its plugboard.
+Symbols that are one character long can also be looked up by char without
+creating a String.
+ */
+public class SymbolCodec {
+
+    // Symbol of each code
+    private final List<String> symbols;
+    // Code of each symbol
+    private final Map<String, Integer> codes = new HashMap<>();
+    // Code of each one-character symbol by its char, -1 if the char is not a symbol
+    private final int[] charCodes;
+
+    // REQUIRES: symbols has no duplicate elements
+    // EFFECTS: make a codec where the code of each symbol is its index in symbols
+    public SymbolCodec(List<String> symbols) {
+        this.symbols = Collections.unmodifiableList(new ArrayList<>(symbols));
+        int maxChar = -1;
+        for (int i = 0; i < symbols.size(); i += 1) {
+            String s = symbols.get(i);
+            codes.put(s, i);
+            if (s.length() == 1) {
+                maxChar = Math.max(maxChar, s.charAt(0));
+            }
+        }
+        charCodes = new int[maxChar + 1];
+        Arrays.fill(charCodes, -1);
+        for (int i = 0; i < symbols.size(); i += 1) {
+            String s = symbols.get(i);
+            if (s.length() == 1) {
+                charCodes[s.charAt(0)] = i;
+            }
+        }
+    }
+
+    // EFFECTS: return the code of symbol, -1 if it is not one of the symbols
+    public int encode(String symbol) {
+        Integer code = codes.get(symbol);
+        return code == null ? -1 : code;
+    }
+
+    // EFFECTS: return the code of the one-character symbol c, -1 if it is not one of the symbols
+    public int encode(char c) {
+        return c < charCodes.length ? charCodes[c] : -1;
+    }
+
+    // REQUIRES: 0 <= code < size()
+    // EFFECTS: return the symbol of code
+    public String decode(int code) {
+        return symbols.get(code);
+    }
+
+    // REQUIRES: 0 <= code < size(), and the symbol of code is one character long
+    // EFFECTS: return the character of the symbol of code
+    public char decodeChar(int code) {
+        return symbols.get(code).charAt(0);
+    }
+
+    // EFFECTS: return the number of symbols
+    public int size() {
+        return symbols.size();
+    }
+
+    // EFFECTS: return the symbols in code order
+    public List<String> getSymbols() {
+        return this.symbols;
+    }
+}
@@ -0,0 +1,219 @@
+package model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/*
+Splits the characters of a Reader into the codes of the symbols of a
+SymbolCodec, as they are read, by taking the longest symbol that matches at
+each point. The symbols are kept in a trie, so each character is looked at
+a bounded number of times however many symbols there are, and symbols of
+several characters (digraphs, words) can be read from free text.
+Characters that do not start any symbol are skipped, passed through, or
+reported as an error, as chosen when the tokenizer is made.
+ */
+public class SymbolTokenizer {
+
+    // Returned by next at the end of the stream
+    public static final int END = -1;
+    // Returned by next for a character that does not start any symbol, when passed through
+    public static final int UNKNOWN = -2;
+
+    // Size of the buffer characters are read into
+    private static final int BUFFER_SIZE = 4096;
+
+    /*
+    What to do with a character that does not start any symbol.
+     */
+    public enum UnknownCharacters {
+        // Read past it
+        SKIP,
+        // Return UNKNOWN, with the character in getUnknown()
+        PASS_THROUGH,
+        // Throw an IOException
+        ERROR
+    }
+
+    // Characters are read from here
+    private final Reader in;
+    // What to do with unknown characters
+    private final UnknownCharacters unknownCharacters;
+    // Symbols of the codes returned
+    private final SymbolCodec codec;
+    // Edge labels of node n, sorted, are labels[n], and the node each leads to is children[n]
+    private final char[][] labels;
+    private final int[][] children;
+    // Code of the symbol that ends at node n, -1 if none does
+    private final int[] codes;
+    // Characters read but not yet tokenized are buffer[start .. limit - 1]
+    private final char[] buffer;
+    private int start = 0;
+    private int limit = 0;
+    // Whether the end of in has been reached
+    private boolean ended = false;
+    // Number of characters tokenized so far
+    private long offset = 0;
+    // Last unknown character passed through
+    private char unknown;
+    // Code of the symbol found by the last longest match
+    private int matched;
+
+    // EFFECTS: make a tokenizer of in into the symbols of enigma's possible inputs,
+    //          with the codes enigma.encrypt(int) takes
+    public SymbolTokenizer(Reader in, Enigma enigma, UnknownCharacters unknownCharacters) {
+        this(in, enigma.getCodec(), unknownCharacters);
+    }
+
+    // REQUIRES: no symbol of codec is empty
+    // EFFECTS: make a tokenizer of in into the codes of the symbols of codec
+    public SymbolTokenizer(Reader in, SymbolCodec codec, UnknownCharacters unknownCharacters) {
+        this.in = in;
+        this.codec = codec;
+        this.unknownCharacters = unknownCharacters;
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        List<Integer> nodeCodes = new ArrayList<>(Collections.singletonList(-1));
+        int longest = 1;
+        for (int code = 0; code < codec.size(); code += 1) {
+            String symbol = codec.decode(code);
+            nodeCodes.set(insert(trie, nodeCodes, symbol), code);
+            longest = Math.max(longest, symbol.length());
+        }
+        this.labels = new char[trie.size()][];
+        this.children = new int[trie.size()][];
+        this.codes = new int[trie.size()];
+        for (int n = 0; n < trie.size(); n += 1) {
+            flattenNode(n, trie.get(n));
+            codes[n] = nodeCodes.get(n);
+        }
+        this.buffer = new char[Math.max(BUFFER_SIZE, 2 * longest)];
+    }
+
+    // MODIFIES: trie, nodeCodes
+    // EFFECTS: add the nodes of symbol that are not in trie yet, with no code,
+    //          and return the node where symbol ends
+    private static int insert(List<TreeMap<Character, Integer>> trie, List<Integer> nodeCodes, String symbol) {
+        int node = 0;
+        for (int i = 0; i < symbol.length(); i += 1) {
+            Integer child = trie.get(node).get(symbol.charAt(i));
+            if (child == null) {
+                child = trie.size();
+                trie.get(node).put(symbol.charAt(i), child);
+                trie.add(new TreeMap<>());
+                nodeCodes.add(-1);
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keep the edges of node n as sorted arrays of labels and children
+    private void flattenNode(int n, TreeMap<Character, Integer> edges) {
+        labels[n] = new char[edges.size()];
+        children[n] = new int[edges.size()];
+        int i = 0;
+        for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+            labels[n][i] = edge.getKey();
+            children[n][i] = edge.getValue();
+            i += 1;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read and return the code of the longest symbol at the current point, or END at
+    //          the end of the stream; a character that does not start any symbol is skipped,
+    //          returned as UNKNOWN, or makes this throw an IOException, as chosen
+    public int next() throws IOException {
+        while (available(1)) {
+            int length = longestMatch();
+            if (length > 0) {
+                consume(length);
+                return matched;
+            }
+            char c = buffer[start];
+            consume(1);
+            if (unknownCharacters == UnknownCharacters.PASS_THROUGH) {
+                unknown = c;
+                return UNKNOWN;
+            } else if (unknownCharacters == UnknownCharacters.ERROR) {
+                throw new IOException("Character '" + c + "' at offset " + (offset - 1) + " starts no symbol");
+            }
+        }
+        return END;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read every remaining symbol and return them in order; unknown characters
+    //          passed through are returned as symbols of one character
+    public List<String> readSymbols() throws IOException {
+        List<String> symbols = new ArrayList<>();
+        for (int code = next(); code != END; code = next()) {
+            symbols.add(code == UNKNOWN ? String.valueOf(unknown) : codec.decode(code));
+        }
+        return symbols;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: return the length of the longest symbol at the current point and set matched to
+    //          its code, or return 0 if no symbol matches
+    private int longestMatch() throws IOException {
+        int node = 0;
+        int length = 0;
+        for (int i = 0; available(i + 1); i += 1) {
+            node = childOf(node, buffer[start + i]);
+            if (node < 0) {
+                break;
+            }
+            if (codes[node] >= 0) {
+                matched = codes[node];
+                length = i + 1;
+            }
+        }
+        return length;
+    }
+
+    // EFFECTS: return the node the edge labelled c leads to from node, -1 if there is none
+    private int childOf(int node, char c) {
+        int i = Arrays.binarySearch(labels[node], c);
+        return i < 0 ? -1 : children[node][i];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read from in until at least count characters are buffered or the stream ends,
+    //          and return true if count characters are buffered
+    private boolean available(int count) throws IOException {
+        while (limit - start < count && !ended) {
+            if (limit == buffer.length) {
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                limit -= start;
+                start = 0;
+            }
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read == -1) {
+                ended = true;
+            } else {
+                limit += read;
+            }
+        }
+        return limit - start >= count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: move past count buffered characters
+    private void consume(int count) {
+        start += count;
+        offset += count;
+    }
+
+    // EFFECTS: return the last unknown character returned as UNKNOWN
+    public char getUnknown() {
+        return this.unknown;
+    }
+
+    // EFFECTS: return the number of characters tokenized so far
+    public long getOffset() {
+        return this.offset;
+    }
+}
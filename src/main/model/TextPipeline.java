@@ -0,0 +1,104 @@
+package model;
+
+import java.util.*;
+
+/*
+Text stages fused into one pass: every character read goes through all the
+stages, in order, before the next one is read, and the characters that come
+out of the last stage are written into one output buffer that is reused
+from call to call. Encryption is one of the stages, so normalizing,
+encrypting and grouping a message is a single loop over its characters
+that creates no object once the output buffer is large enough.
+ */
+public class TextPipeline {
+
+    // Starting size of the output buffer
+    private static final int INITIAL_OUTPUT_SIZE = 1024;
+
+    // Stages in the order characters go through them
+    private final TextStage[] stages;
+    // Passes the output of stage i on to stage i + 1, or to the output buffer for the last
+    private final CharSink[] sinks;
+    // Characters out of the last stage
+    private char[] output = new char[INITIAL_OUTPUT_SIZE];
+    // Number of characters in output
+    private int count = 0;
+
+    // EFFECTS: make a pipeline of the given stages, in order
+    public TextPipeline(TextStage... stages) {
+        this.stages = stages.clone();
+        this.sinks = new CharSink[stages.length];
+        if (stages.length > 0) {
+            sinks[stages.length - 1] = this::append;
+        }
+        for (int i = stages.length - 2; i >= 0; i -= 1) {
+            TextStage nextStage = this.stages[i + 1];
+            CharSink nextSink = sinks[i + 1];
+            sinks[i] = c -> nextStage.accept(c, nextSink);
+        }
+    }
+
+    // REQUIRES: 0 <= from, from + length <= input.length
+    // MODIFIES: this
+    // EFFECTS: pass length characters of input from from through every stage, and return the
+    //          number of characters that came out, now at the start of getOutput()
+    public int process(char[] input, int from, int length) {
+        count = 0;
+        for (int i = from; i < from + length; i += 1) {
+            feed(input[i]);
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: end the message, pass the characters held back by the stages through the rest
+    //          of the pipeline, and return the number of characters that came out, now at
+    //          the start of getOutput()
+    public int finish() {
+        count = 0;
+        for (int i = 0; i < stages.length; i += 1) {
+            stages[i].finish(sinks[i]);
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: pass every character of text through every stage as one message, and return
+    //          the characters that came out
+    public String process(CharSequence text) {
+        count = 0;
+        for (int i = 0; i < text.length(); i += 1) {
+            feed(text.charAt(i));
+        }
+        for (int i = 0; i < stages.length; i += 1) {
+            stages[i].finish(sinks[i]);
+        }
+        return new String(output, 0, count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: pass c through every stage
+    private void feed(char c) {
+        if (stages.length == 0) {
+            append(c);
+        } else {
+            stages[0].accept(c, sinks[0]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: add c to the output, making the output buffer larger if it is full
+    private void append(char c) {
+        if (count == output.length) {
+            output = Arrays.copyOf(output, output.length * 2);
+        }
+        output[count] = c;
+        count += 1;
+    }
+
+    // EFFECTS: return the output buffer; the characters out of the last call to process or
+    //          finish are at its start, and are overwritten by the next call
+    public char[] getOutput() {
+        return this.output;
+    }
+}
@@ -0,0 +1,69 @@
+package model;
+
+import java.util.*;
+
+/*
+One step of formatting text before or after encryption, fused with the
+other steps of a TextPipeline: each character is passed on to the next
+stage as soon as it is processed, changed, dropped, or with characters
+added around it, so no stage makes an intermediate String.
+ */
+public interface TextStage {
+
+    // MODIFIES: this, next
+    // EFFECTS: process c and pass the resulting characters, if any, to next
+    void accept(char c, CharSink next);
+
+    // MODIFIES: this, next
+    // EFFECTS: pass any characters held back to next at the end of a message, and get ready
+    //          for the next message
+    default void finish(CharSink next) {
+    }
+
+    // EFFECTS: return a stage that turns every character into upper case
+    static TextStage upperCase() {
+        return (c, next) -> next.put(Character.toUpperCase(c));
+    }
+
+    // EFFECTS: return a stage that drops every character that is not a possible input of
+    //          enigma one character long
+    static TextStage keepOnly(Enigma enigma) {
+        SymbolCodec codec = enigma.getCodec();
+        return (c, next) -> {
+            if (codec.encode(c) != -1) {
+                next.put(c);
+            }
+        };
+    }
+
+    // EFFECTS: return a stage that replaces every key of substitutes with its value,
+    //          and passes every other character unchanged
+    static TextStage substitute(Map<Character, String> substitutes) {
+        return new SubstitutionStage(substitutes);
+    }
+
+    // EFFECTS: return a stage that replaces a space with X and every digit with its German
+    //          name, as in messages sent by Enigma operators
+    static TextStage historicalSubstitutes() {
+        String[] digits = {"NULL", "EINS", "ZWO", "DREI", "VIER", "FUNF", "SECHS", "SIEBEN", "ACHT", "NEUN"};
+        Map<Character, String> substitutes = new HashMap<>();
+        for (int d = 0; d < digits.length; d += 1) {
+            substitutes.put((char) ('0' + d), digits[d]);
+        }
+        substitutes.put(' ', "X");
+        return substitute(substitutes);
+    }
+
+    // EFFECTS: return a stage that encrypts every possible input of enigma one character long,
+    //          without recording it in the messages, and passes every other character unchanged
+    static TextStage encrypt(Enigma enigma) {
+        EnigmaCharTransform transform = new EnigmaCharTransform(enigma);
+        return (c, next) -> next.put(transform.transform(c));
+    }
+
+    // REQUIRES: size > 0
+    // EFFECTS: return a stage that puts separator between every size characters
+    static TextStage group(int size, char separator) {
+        return new GroupingStage(size, separator);
+    }
+}
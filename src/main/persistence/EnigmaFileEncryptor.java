@@ -0,0 +1,87 @@
+package persistence;
+
+import model.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Provides a way to encrypt a whole file into another file through a compiled
+ * Enigma machine. Both files are memory-mapped region by region, and every byte
+ * is read as an ISO-8859-1 character; bytes that are not possible inputs of the
+ * machine are copied unchanged.
+ */
+public class EnigmaFileEncryptor {
+    private static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    private CompiledEnigma enigma;
+    private int regionSize;
+    // Index of the possible input for each byte, -1 if the byte is not a possible input
+    private int[] byteToIndex = new int[256];
+    // Byte of each possible input/output index
+    private byte[] indexToByte;
+    private EventLog eventLogger = EventLog.getInstance();
+
+    // EFFECTS: construct an encryptor that maps files in regions of 64 MB;
+    //          throws IllegalArgumentException if a possible input of enigma is not
+    //          a single character in 0-255
+    public EnigmaFileEncryptor(CompiledEnigma enigma) {
+        this(enigma, DEFAULT_REGION_SIZE);
+    }
+
+    // REQUIRES: regionSize > 0
+    // EFFECTS: construct an encryptor that maps files in regions of regionSize bytes;
+    //          throws IllegalArgumentException if a possible input of enigma is not
+    //          a single character in 0-255
+    public EnigmaFileEncryptor(CompiledEnigma enigma, int regionSize) {
+        this.enigma = enigma;
+        this.regionSize = regionSize;
+        SymbolCodec codec = enigma.getCodec();
+        for (String symbol : codec.getSymbols()) {
+            if (symbol.length() != 1 || symbol.charAt(0) > 0xFF) {
+                throw new IllegalArgumentException("The input " + symbol + " is not a single byte");
+            }
+        }
+        indexToByte = new byte[codec.size()];
+        for (int b = 0; b < byteToIndex.length; b += 1) {
+            byteToIndex[b] = codec.encode((char) b);
+            if (byteToIndex[b] != -1) {
+                indexToByte[byteToIndex[b]] = (byte) b;
+            }
+        }
+    }
+
+    // MODIFIES: enigma
+    // EFFECTS: encrypt the file at source into the file at destination, replacing it,
+    //          and return the number of bytes encrypted;
+    //          throws IOException if either file cannot be mapped
+    public long encrypt(String source, String destination) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(source, "r");
+             RandomAccessFile out = new RandomAccessFile(destination, "rw")) {
+            long length = in.length();
+            out.setLength(length);
+            FileChannel inChannel = in.getChannel();
+            FileChannel outChannel = out.getChannel();
+            for (long position = 0; position < length; position += regionSize) {
+                long size = Math.min(regionSize, length - position);
+                encryptRegion(inChannel.map(FileChannel.MapMode.READ_ONLY, position, size),
+                        outChannel.map(FileChannel.MapMode.READ_WRITE, position, size));
+            }
+            eventLogger.logEvent(new Event("The file " + source + " is encrypted to " + destination + "."));
+            return length;
+        }
+    }
+
+    // MODIFIES: enigma, output
+    // EFFECTS: encrypt every byte of input into the same position of output
+    private void encryptRegion(MappedByteBuffer input, MappedByteBuffer output) {
+        int limit = input.limit();
+        for (int i = 0; i < limit; i += 1) {
+            byte b = input.get(i);
+            int index = byteToIndex[b & 0xFF];
+            output.put(i, index < 0 ? b : indexToByte[enigma.encrypt(index)]);
+        }
+    }
+}
@@ -68,8 +68,10 @@ public class JsonLoader {
         List<Rotor> loadRotorsToUse = parseRotorsToUse(rotorsToUseJson);
 
         eventLogger.logEvent(new Event("The Enigma Machine of previous session is loaded."));
-        return new Enigma(loadPlugboard, loadInverter, loadRotorBox, loadRotorsToUse, loadIO,
+        Enigma loadEnigma = new Enigma(loadPlugboard, loadInverter, loadRotorBox, loadRotorsToUse, loadIO,
                 originalMessage, encryptedMessage);
+        loadEnigma.setDoubleStepping(enigmaJson.optBoolean("doubleStepping", false));
+        return loadEnigma;
     }
 
     /**
@@ -96,7 +98,7 @@ public class JsonLoader {
             inverterIO.add(io.toString());
         }
 
-        Inverter loadInverter = new Inverter(inverterIO);
+        Inverter loadInverter = new Inverter(inverterIO, inverterInversions);
         return loadInverter;
     }
 
@@ -120,7 +122,7 @@ public class JsonLoader {
             plugboardIO.add(io.toString());
         }
 
-        Plugboard loadPlugboard = new Plugboard(plugboardIO);
+        Plugboard loadPlugboard = new Plugboard(plugboardIO, plugboardConnections);
         return loadPlugboard;
     }
 
@@ -170,10 +172,7 @@ public class JsonLoader {
         int rotation = rotorJson.getInt("rotation");
         // parse rotorRight for io
         JSONArray rotorRightJson = rotorJson.getJSONArray("rotorRight");
-        List<String> rotorIOs = new ArrayList<>();
-        for (Object io : rotorRightJson) {
-            rotorIOs.add(io.toString());
-        }
+        List<String> rotorIOs = parseRotorIO(rotorRightJson, rotation);
         // parse rotorWiring
         JSONObject rotorWiringJson = rotorJson.getJSONObject("rotorWiring");
         Map<String, Object> rotorWiringJsonMap = rotorWiringJson.toMap();
@@ -188,7 +187,38 @@ public class JsonLoader {
         for (int i = 0; i < rotation; i += 1) {
             loadRotor.rotate();
         }
+        parseNotchesAndRing(rotorJson, loadRotor);
 
         return loadRotor; // stub
     }
+
+    // MODIFIES: rotor
+    // EFFECTS: set the notches and ring setting of rotor from rotorJson, if they are saved;
+    //          rotors saved without them keep the default notch and no ring setting
+    private void parseNotchesAndRing(JSONObject rotorJson, Rotor rotor) {
+        if (rotorJson.has("notches")) {
+            JSONArray notchesJson = rotorJson.getJSONArray("notches");
+            int[] notches = new int[notchesJson.length()];
+            for (int i = 0; i < notches.length; i += 1) {
+                notches[i] = notchesJson.getInt(i);
+            }
+            rotor.setNotches(notches);
+        }
+        if (rotorJson.has("ringSetting")) {
+            rotor.setRingSetting(rotorJson.getInt("ringSetting"));
+        }
+    }
+
+    // REQUIRES: rotorRightJson describes one side of a rotor at the given rotation
+    // EFFECTS: parse JSONArray into the rotor's io at its starting position,
+    //          as the side is saved after it has rotated
+    private List<String> parseRotorIO(JSONArray rotorRightJson, int rotation) {
+        int size = rotorRightJson.length();
+        List<String> rotorIOs = new ArrayList<>();
+        for (int i = 0; i < size; i += 1) {
+            int start = ((i - rotation) % size + size) % size;
+            rotorIOs.add(rotorRightJson.get(start).toString());
+        }
+        return rotorIOs;
+    }
 }
@@ -1,12 +1,14 @@
 package ui;
 
 import model.*;
+import persistence.EnigmaFileEncryptor;
 import persistence.JsonLoader;
 import persistence.JsonSaver;
 
 import javax.swing.*;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.*;
 
 import static java.lang.System.exit;
@@ -97,6 +99,10 @@ public class ClassicalEnigmaMachine {
                 enigmaUserInteraction(sc, enigma);
             case "E":
                 menu(sc);
+                break;
+            case "F":
+                encryptFile(sc, enigma);
+                enigmaUserInteraction(sc, enigma);
         }
     }
 
@@ -108,6 +114,7 @@ public class ClassicalEnigmaMachine {
         System.out.println("C. Encrypt a message");
         System.out.println("D. Save current state of the machine");
         System.out.println("E. Return to menu");
+        System.out.println("F. Encrypt a file into another file");
     }
 
     // EFFECTS: allow users to add a rotor to the rotor box
@@ -160,15 +167,14 @@ public class ClassicalEnigmaMachine {
         boolean endInput = false;
         String userInput = "";
 
-        System.out.println("Start entering your message character by character.");
-        System.out.println("Enter STOP to stop encryption.");
+        System.out.println("Start entering your message character by character, or several characters at once.");
+        System.out.println("Enter BACK to delete the last character, and STOP to stop encryption.");
         while (!endInput) {
             userInput = sc.next();
-            if (!userInput.equals("STOP")) {
-                String encrypted = enigma.encrypt(userInput);
-                System.out.println("Your encrypted character is " + encrypted);
-            } else {
+            if (!enigma.getIO().contains(userInput) && userInput.equals("STOP")) {
                 endInput = true;
+            } else {
+                encryptInput(enigma, userInput);
             }
         }
         System.out.println(enigma.getOriginalMessage() + " is encrypted to " + enigma.getEncryptedMessage());
@@ -176,6 +182,35 @@ public class ClassicalEnigmaMachine {
         enigmaUserInteraction(sc, enigma);
     }
 
+    // MODIFIES: enigma
+    // EFFECTS: encrypt one character or several characters at once, or delete the last
+    //          symbol encrypted if userInput is BACK
+    private static void encryptInput(Enigma enigma, String userInput) {
+        if (enigma.getIO().contains(userInput)) {
+            String encrypted = enigma.encrypt(userInput);
+            System.out.println("Your encrypted character is " + encrypted);
+        } else if (userInput.equals("BACK")) {
+            if (enigma.getPosition() > 0) {
+                enigma.stepBack(1);
+            }
+            System.out.println("Your message so far is " + enigma.getOriginalMessage());
+        } else {
+            List<String> encrypted = enigma.encryptMessage(tokenize(enigma, userInput));
+            System.out.println("Your encrypted characters are " + String.join("", encrypted));
+        }
+    }
+
+    // EFFECTS: split userInput into the longest possible inputs of enigma, skipping
+    //          characters that do not start any of them
+    private static List<String> tokenize(Enigma enigma, String userInput) {
+        try {
+            return new SymbolTokenizer(new StringReader(userInput), enigma,
+                    SymbolTokenizer.UnknownCharacters.SKIP).readSymbols();
+        } catch (IOException e) {
+            return new ArrayList<>();
+        }
+    }
+
     // EFFECTS: has rotor mode encryption
     private static void withRotor(Scanner sc, Enigma enigma) {
         System.out.println("\nHere is a list of rotors in the rotor box " + enigma.getRotorBox().getRotorNames());
@@ -213,6 +248,25 @@ public class ClassicalEnigmaMachine {
         System.out.println("Your state of Enigma is saved at " + JSON_STORE + "\n");
     }
 
+    // EFFECTS: encrypt a file into another file with the current setting of the Enigma machine
+    private static void encryptFile(Scanner sc, Enigma enigma) {
+        System.out.println("Enter the path of the file to encrypt.");
+        String source = sc.next();
+        System.out.println("Enter the path of the encrypted file.");
+        String destination = sc.next();
+        CompiledEnigma compiled = enigma.compile();
+        compiled.usePeriodTable(CompiledEnigma.DEFAULT_PERIOD_TABLE_BUDGET);
+        try {
+            long length = new EnigmaFileEncryptor(compiled).encrypt(source, destination);
+            System.out.println(length + " bytes of " + source + " are encrypted to " + destination + "\n");
+        } catch (IOException e) {
+            System.out.println("Fail to encrypt file, returning to previous menu...\n");
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + ", only machines of single-byte inputs can encrypt files, "
+                    + "returning to previous menu...\n");
+        }
+    }
+
     // REQUIRES: the .json file describes the state of an Enigma
     // EFFECTS: load the saved state of the Enigma machine from a .json file
     private static Enigma loadEnigma(Scanner sc) {
@@ -0,0 +1,49 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchEnigmaTest {
+
+    private List<CompiledEnigma> testMachines = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        for (int m = 0; m < 3; m += 1) {
+            Enigma enigma = TestEnigmas.withCrossedRotor(m + 1);
+            enigma.retrieveRotor(2, "Crossed 1");
+            enigma.retrieveRotor(1 + m % 2, "Rotor 2");
+            enigma.seek(m * 17);
+            testMachines.add(enigma.compile());
+        }
+    }
+
+    // Test encrypt
+    // Messages of different lengths, each the same as its own machine
+    @Test
+    void testEncryptSameAsEachMachine() {
+        int[][] messages = new int[3][];
+        int[] lengths = {50, 200, 0};
+        for (int m = 0; m < 3; m += 1) {
+            messages[m] = new int[lengths[m]];
+            for (int i = 0; i < lengths[m]; i += 1) {
+                messages[m][i] = (i * (m + 5)) % 6;
+            }
+        }
+        BatchEnigma batch = new BatchEnigma(testMachines);
+        int[][] outputs = batch.encrypt(messages);
+
+        // Test
+        assertEquals(3, batch.getLanes());
+        for (int m = 0; m < 3; m += 1) {
+            CompiledEnigma machine = testMachines.get(m).copy();
+            int[] expected = new int[lengths[m]];
+            machine.encrypt(messages[m], expected, 0, lengths[m]);
+            assertArrayEquals(expected, outputs[m]);
+            assertArrayEquals(machine.getRotations(), batch.getRotations(m));
+        }
+    }
+}
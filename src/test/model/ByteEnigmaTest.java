@@ -0,0 +1,84 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteEnigmaTest {
+
+    private Enigma testEnigma;
+    private byte[] testData = new byte[5000];
+
+    @BeforeEach
+    void setup() {
+        testEnigma = new Enigma(ByteEnigma.byteAlphabet());
+        testEnigma.retrieveRotor(1, "Rotor 1");
+        testEnigma.retrieveRotor(1, "Rotor 2");
+        for (int i = 0; i < testData.length; i += 1) {
+            testData[i] = (byte) (i * 31 + i / 7);
+        }
+    }
+
+    // Test constructor
+    // Machines whose inputs are not the byte values
+    @Test
+    void testConstructorNotBytes() {
+        LinkedHashSet<String> shifted = new LinkedHashSet<>();
+        for (int b = 1; b <= 256; b += 1) {
+            shifted.add(String.valueOf((char) b));
+        }
+        Enigma letters = new Enigma(new HashSet<>(Arrays.asList("W", "X", "Y", "Z")));
+        Enigma nearlyBytes = new Enigma(shifted);
+
+        // Test
+        assertThrows(IllegalArgumentException.class, () -> new ByteEnigma(letters));
+        assertThrows(IllegalArgumentException.class, () -> new ByteEnigma(nearlyBytes));
+    }
+
+    // Test byteAlphabet
+    @Test
+    void testByteAlphabet() {
+        LinkedHashSet<String> alphabet = ByteEnigma.byteAlphabet();
+        assertEquals(256, alphabet.size());
+        assertTrue(alphabet.contains("\u0000"));
+        assertTrue(alphabet.contains("\u00ff"));
+    }
+
+    // Test encrypt
+    // Heap buffer, same as the Enigma
+    @Test
+    void testEncryptHeapBuffer() {
+        ByteEnigma byteEnigma = new ByteEnigma(testEnigma);
+        ByteBuffer buffer = ByteBuffer.wrap(testData.clone());
+        buffer.position(10);
+        byteEnigma.encrypt(buffer);
+
+        // Test
+        assertEquals(10, buffer.position());
+        for (int i = 0; i < testData.length; i += 1) {
+            byte expected = i < 10 ? testData[i]
+                    : (byte) testEnigma.encrypt(String.valueOf((char) (testData[i] & 0xFF))).charAt(0);
+            assertEquals(expected, buffer.get(i));
+        }
+    }
+
+    // Direct buffer, encrypting twice from the same setting gives back the data
+    @Test
+    void testEncryptDirectBuffer() {
+        ByteEnigma encrypting = new ByteEnigma(testEnigma);
+        ByteEnigma decrypting = new ByteEnigma(testEnigma);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(testData.length);
+        buffer.put(testData);
+        buffer.flip();
+        encrypting.encrypt(buffer);
+        assertNotEquals(ByteBuffer.wrap(testData), buffer);
+        decrypting.encrypt(buffer);
+
+        // Test
+        assertEquals(ByteBuffer.wrap(testData), buffer);
+        assertEquals(testData.length, decrypting.getCompiledEnigma().getPosition());
+    }
+}
@@ -0,0 +1,239 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledEnigmaTest {
+
+    private static final String[] SYMBOLS = {"A", "B", "C", "D", "E", "F"};
+
+    private Enigma testEnigma;
+
+    @BeforeEach
+    void setup() {
+        testEnigma = TestEnigmas.withCrossedRotor(2);
+    }
+
+    // EFFECTS: encrypt the same message with both engines and check that they agree
+    private void assertSameAsEnigma(Enigma enigma, CompiledEnigma compiled, int length) {
+        for (int i = 0; i < length; i += 1) {
+            String s = SYMBOLS[(i * 7 + i / 3) % SYMBOLS.length];
+            assertEquals(enigma.encrypt(s), compiled.encrypt(s));
+        }
+    }
+
+    // Test encrypt
+    // No rotors
+    @Test
+    void testEncryptNoRotor() {
+        CompiledEnigma compiled = testEnigma.compile();
+        assertEquals(6, compiled.getSize());
+        assertEquals(0, compiled.getRotations().length);
+        assertSameAsEnigma(testEnigma, compiled, 20);
+    }
+
+    // One rotor with crossed wiring
+    @Test
+    void testEncryptOneRotor() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        assertSameAsEnigma(testEnigma, testEnigma.compile(), 100);
+    }
+
+    // Three rotors, enough symbols for every rotor to complete full rounds
+    @Test
+    void testEncryptThreeRotors() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+        CompiledEnigma compiled = testEnigma.compile();
+        assertSameAsEnigma(testEnigma, compiled, 500);
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(testEnigma.getRotorsToUse().get(r).getRotation(), compiled.getRotations()[r]);
+        }
+    }
+
+    // Compiled after the rotors have already rotated
+    @Test
+    void testEncryptCompiledMidMessage() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+        for (int i = 0; i < 9; i += 1) {
+            testEnigma.encrypt("A");
+        }
+        assertSameAsEnigma(testEnigma, testEnigma.compile(), 200);
+    }
+
+    // Many rotors, so the composed wiring of the later rotors is rebuilt at every level
+    @Test
+    void testEncryptFiveRotors() {
+        for (int r = 0; r < 5; r += 1) {
+            testEnigma.retrieveRotor(2 - r % 2, "Rotor " + r);
+        }
+        CompiledEnigma compiled = testEnigma.compile();
+        assertSameAsEnigma(testEnigma, compiled, 6 * 6 * 6 * 6 + 50);
+        assertArrayEquals(new int[] {2, 2, 1, 0, 1}, compiled.getRotations());
+    }
+
+    // Notches, ring settings and double stepping
+    @Test
+    void testEncryptNotchesAndRings() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+        List<Rotor> rotors = testEnigma.getRotorsToUse();
+        rotors.get(0).setNotches(1, 4);
+        rotors.get(0).setRingSetting(2);
+        rotors.get(1).setNotches(0);
+        rotors.get(2).setRingSetting(5);
+        CompiledEnigma compiled = testEnigma.compile();
+        assertFalse(compiled.usePeriodTable(CompiledEnigma.DEFAULT_PERIOD_TABLE_BUDGET));
+        assertSameAsEnigma(testEnigma, compiled, 300);
+        compiled.seek(123);
+        testEnigma.seek(123);
+        assertSameAsEnigma(testEnigma, compiled, 100);
+        testEnigma.setDoubleStepping(true);
+        compiled = testEnigma.compile();
+        assertSame(SteppingPolicy.DOUBLE_STEPPING, compiled.getConfig().getSteppingPolicy());
+        assertSameAsEnigma(testEnigma, compiled, 300);
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(rotors.get(r).getRotation(), compiled.getRotations()[r]);
+        }
+        compiled.seek(50);
+        testEnigma.seek(testEnigma.getPosition() - 250);
+        assertSameAsEnigma(testEnigma, compiled, 100);
+    }
+
+    // Cog wheels, a policy that is not seekable, and odometer stepping whatever the notches
+    @Test
+    void testEncryptSteppingPolicies() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+        testEnigma.getRotorsToUse().get(0).setNotches(2);
+        assertTrue(SteppingPolicy.NOTCHED instanceof SeekableStepping);
+        assertFalse(SteppingPolicy.DOUBLE_STEPPING instanceof SeekableStepping);
+        testEnigma.setSteppingPolicy(new CogWheelStepping(1, 2, 5));
+        CompiledEnigma compiled = testEnigma.compile();
+        assertNull(compiled.getConfig().getSteppingTable());
+        assertSameAsEnigma(testEnigma, compiled, 300);
+        compiled.seek(77);
+        testEnigma.seek(testEnigma.getPosition() - 223);
+        assertSameAsEnigma(testEnigma, compiled, 50);
+
+        SteppingPolicy leapfrog = (rotations, from, count, size, notches) -> {
+            rotations[from] = (rotations[from] + 1) % size;
+            if (count > 1 && rotations[from] == rotations[from + 1]) {
+                rotations[from + 1] = (rotations[from + 1] + 1) % size;
+                return 1;
+            }
+            return 0;
+        };
+        testEnigma.setSteppingPolicy(leapfrog);
+        compiled = testEnigma.compile();
+        assertNotNull(compiled.getConfig().getSteppingTable());
+        assertSameAsEnigma(testEnigma, compiled, 300);
+        compiled.seek(40);
+        testEnigma.seek(testEnigma.getPosition() - 260);
+        assertSameAsEnigma(testEnigma, compiled, 50);
+
+        testEnigma.setSteppingPolicy(SteppingPolicy.ODOMETER);
+        compiled = testEnigma.compile();
+        assertTrue(compiled.getConfig().isOdometer());
+        assertSameAsEnigma(testEnigma, compiled, 250);
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(testEnigma.getRotorsToUse().get(r).getRotation(), compiled.getRotations()[r]);
+        }
+    }
+
+    // 20,000 one-character symbols, with rotors copied from the box
+    @Test
+    void testEncryptLargeAlphabet() {
+        HashSet<String> io = new HashSet<>();
+        for (int i = 0; i < 20000; i += 1) {
+            io.add(String.valueOf((char) ('\u4e00' + i)));
+        }
+        Enigma enigma = new Enigma(io);
+        enigma.retrieveRotor(1, "Default 1");
+        enigma.getRotorsToUse().get(0).rotate();
+        enigma.retrieveRotor(1, "Default 2");
+        Rotor first = enigma.getRotorsToUse().get(0);
+        assertEquals(first.getTableBytes(), enigma.getRotorsToUse().get(1).getTableBytes());
+        assertEquals(2 * 20000 + 20000 + 4, first.getTableBytes());
+        CompiledEnigma compiled = enigma.compile();
+        for (int i = 0; i < 30000; i += 1) {
+            int code = (i * 7919) % 20000;
+            assertEquals(enigma.encrypt(code), compiled.encrypt(code));
+        }
+    }
+
+    // Test seek
+    @Test
+    void testSeek() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+        CompiledEnigma compiled = testEnigma.compile();
+        for (int i = 0; i < 1000; i += 1) {
+            compiled.encrypt(i % 6);
+        }
+        compiled.seek(300);
+        testEnigma.seek(300);
+        assertEquals(300, compiled.getPosition());
+        assertSameAsEnigma(testEnigma, compiled, 100);
+        assertEquals(400, compiled.getPosition());
+    }
+
+    // Test usePeriodTable
+    // Table fits, several full periods
+    @Test
+    void testPeriodTable() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+        for (int i = 0; i < 40; i += 1) {
+            testEnigma.encrypt("B");
+        }
+        CompiledEnigma compiled = testEnigma.compile();
+        assertTrue(compiled.usePeriodTable(6 * 6 * 6 * 6 * 2));
+        assertTrue(compiled.isUsingPeriodTable());
+        assertSameAsEnigma(testEnigma, compiled, 1000);
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(testEnigma.getRotorsToUse().get(r).getRotation(), compiled.getRotations()[r]);
+        }
+        compiled.seek(7);
+        testEnigma.seek(47);
+        assertSameAsEnigma(testEnigma, compiled.copy(), 300);
+    }
+
+    // Table over the memory budget, falls back to the rotor tables
+    @Test
+    void testPeriodTableOverBudget() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+        CompiledEnigma compiled = testEnigma.compile();
+        assertFalse(compiled.usePeriodTable(6 * 6 * 6 * 2 - 1));
+        assertFalse(compiled.isUsingPeriodTable());
+        assertSameAsEnigma(testEnigma, compiled, 100);
+    }
+
+    // Index arrays
+    @Test
+    void testEncryptIndexArray() {
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        CompiledEnigma compiled = testEnigma.compile();
+        List<String> io = compiled.getIO();
+        int[] input = new int[50];
+        int[] output = new int[50];
+        for (int i = 0; i < input.length; i += 1) {
+            input[i] = (i * 5) % io.size();
+        }
+        compiled.encrypt(input, output, 0, input.length);
+        for (int i = 0; i < input.length; i += 1) {
+            assertEquals(testEnigma.encrypt(io.get(input[i])), io.get(output[i]));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComposedGadgetTest {
+
+    private Plugboard testPlugboard;
+    private Inverter testInverter;
+    private Rotor testRotor;
+
+    @BeforeEach
+    void setup() {
+        LinkedHashSet<String> io = new LinkedHashSet<>(Arrays.asList("W", "X", "Y", "Z"));
+        testPlugboard = new Plugboard(new HashSet<>(io));
+        testInverter = new Inverter(new LinkedHashSet<>(testPlugboard.getIO()));
+        List<String> rotorIO = testPlugboard.getIO();
+        Map<String, String> wiring = new HashMap<>();
+        for (int i = 0; i < rotorIO.size(); i++) {
+            wiring.put(rotorIO.get(i), rotorIO.get((i + 1) % rotorIO.size()));
+        }
+        testRotor = new Rotor("crossed", rotorIO, wiring);
+    }
+
+    // EFFECTS: return the index i ends up at after passing every gadget in order
+    private int passAll(int i, Gadget... gadgets) {
+        for (Gadget gadget : gadgets) {
+            i = gadget.passThroughWire(null, null, i);
+        }
+        return i;
+    }
+
+    // Test passThroughWire
+    // Same as passing every gadget in order, one index or a block at a time
+    @Test
+    void testPassThroughWire() {
+        testPlugboard.connect(0, 2);
+        ComposedGadget composed = new ComposedGadget(4, testPlugboard, testInverter, testPlugboard);
+        int[] block = {0, 1, 2, 3};
+        composed.passThroughWire(block, block, 0, 4);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(passAll(i, testPlugboard, testInverter, testPlugboard),
+                    composed.passThroughWire(null, null, i));
+            assertEquals(passAll(i, testPlugboard, testInverter, testPlugboard), block[i]);
+        }
+        assertEquals(2, new ComposedGadget(4).passThroughWire(null, null, 2));
+    }
+
+    // Composed again after the wiring of a gadget changes
+    @Test
+    void testRecompose() {
+        ComposedGadget composed = new ComposedGadget(4, testPlugboard, testInverter);
+        long version = composed.getWiringVersion();
+        assertEquals(version, composed.getWiringVersion());
+        testPlugboard.connect("W", "X");
+        assertEquals(passAll(0, testPlugboard, testInverter), composed.passThroughWire(null, null, 0));
+        assertNotEquals(version, composed.getWiringVersion());
+
+        Gadget rotorPath = new ComposedGadget(4, testRotor, testInverter, testRotor);
+        ComposedGadget nested = new ComposedGadget(4, testPlugboard, rotorPath, testPlugboard);
+        testRotor.rotate();
+        testRotor.setRingSetting(1);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(passAll(i, testPlugboard, testRotor, testInverter, testRotor, testPlugboard),
+                    nested.passThroughWire(null, null, i));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnigmaCascadeTest {
+
+    private HashSet<String> testIO = new HashSet<>();
+    private List<Enigma> machines = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        for (char c = 'A'; c <= 'Z'; c += 1) {
+            testIO.add(String.valueOf(c));
+        }
+        for (int m = 0; m < 3; m += 1) {
+            Enigma enigma = new Enigma(testIO);
+            enigma.getPlugboard().connect("A", String.valueOf((char) ('B' + m)));
+            enigma.getRotorBox().addRotors(makeRotor("I", "EKMFLGDQVZNTOWYHXUSPAIBRCJ"));
+            enigma.getRotorBox().addRotors(makeRotor("II", "AJDKSIRUXBLHWTMCQGZNPYFVOE"));
+            enigma.retrieveRotor(2, "I");
+            enigma.retrieveRotor(3, "II");
+            enigma.getRotorsToUse().get(0).setRingSetting(m * 5);
+            enigma.getRotorsToUse().get(1).setRotation(m * 3);
+            machines.add(enigma);
+        }
+    }
+
+    // EFFECTS: return a rotor that maps each letter of the alphabet to the letter of wiring
+    //          at the same position
+    private Rotor makeRotor(String name, String wiring) {
+        List<String> rotorIO = new ArrayList<>();
+        for (char c : Inverter.ALPHABET.toCharArray()) {
+            rotorIO.add(String.valueOf(c));
+        }
+        return new Rotor(name, rotorIO, Inverter.wiringOf(Inverter.ALPHABET, wiring));
+    }
+
+    // Test encrypt
+    // Same as encrypting the whole message with each machine in turn
+    @Test
+    void testEncrypt() {
+        EnigmaCascade cascade = new EnigmaCascade(machines.toArray(new Enigma[0]));
+        assertEquals(3, cascade.getMachineCount());
+        int[] message = new int[2000];
+        for (int i = 0; i < message.length; i += 1) {
+            message[i] = (i * 7 + i / 3) % 26;
+        }
+        int[] expected = message.clone();
+        for (Enigma machine : machines) {
+            for (int i = 0; i < expected.length; i += 1) {
+                expected[i] = machine.encrypt(expected[i]);
+            }
+        }
+        int[] output = new int[message.length];
+        cascade.encrypt(message, output, 0, message.length);
+        assertArrayEquals(expected, output);
+        assertEquals(2000, cascade.getPosition());
+        cascade.seek(0);
+        assertEquals(cascade.getCodec().decode(expected[0]), cascade.encrypt(cascade.getCodec().decode(message[0])));
+    }
+
+    // The reverse cascade decrypts, from any position
+    @Test
+    void testReverse() {
+        EnigmaCascade cascade = new EnigmaCascade(machines.toArray(new Enigma[0]));
+        cascade.seek(500);
+        EnigmaCascade reverse = cascade.reverse();
+        assertEquals(500, reverse.getPosition());
+        for (int i = 0; i < 1000; i += 1) {
+            int code = (i * 11) % 26;
+            assertEquals(code, reverse.encrypt(cascade.encrypt(code)));
+        }
+    }
+
+    // Machines with other possible inputs
+    @Test
+    void testDifferentInputs() {
+        Enigma other = new Enigma(new HashSet<>(Arrays.asList("A", "B", "C", "D")));
+        assertThrows(IllegalArgumentException.class, () -> new EnigmaCascade(machines.get(0), other));
+    }
+}
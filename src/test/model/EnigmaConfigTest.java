@@ -0,0 +1,165 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnigmaConfigTest {
+
+    private static final int LENGTH = 2000;
+
+    private Enigma testEnigma;
+
+    @BeforeEach
+    void setup() {
+        testEnigma = TestEnigmas.withCrossedRotor(2);
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+    }
+
+    // EFFECTS: return the indices of a message of the given length
+    private int[] makeMessage(int length) {
+        int[] message = new int[length];
+        for (int i = 0; i < length; i += 1) {
+            message[i] = (i * 7 + i / 3) % 6;
+        }
+        return message;
+    }
+
+    // Test the stepping table of a policy that is not seekable
+    @Test
+    void testSteppingTable() {
+        testEnigma.getRotorsToUse().get(0).setNotches(1, 3);
+        testEnigma.getRotorsToUse().get(1).setNotches(4);
+        testEnigma.setDoubleStepping(true);
+        EnigmaConfig config = testEnigma.compileConfig();
+        SteppingTable table = config.getSteppingTable();
+        assertNotNull(table);
+        assertTrue(table.getCycleLength() > 0);
+        EnigmaCursor stepped = config.newCursor();
+        for (long p = 0; p < 3 * (table.getCycleStart() + table.getCycleLength()); p += 1) {
+            assertArrayEquals(stepped.getRotations(), config.newCursor(p).getRotations());
+            stepped.encrypt(0);
+        }
+        long far = 1000000000000L;
+        long same = table.getCycleStart() + (far - table.getCycleStart()) % table.getCycleLength();
+        assertArrayEquals(config.newCursor(same).getRotations(), config.newCursor(far).getRotations());
+        assertNull(SteppingTable.compile(SteppingPolicy.DOUBLE_STEPPING, new int[3], 6, config.getNotchTables(), 100));
+    }
+
+    // The stepping table is compiled by the first seek, not by encrypting forward, and a
+    // policy that is not seekable cannot seek without it
+    @Test
+    void testSeekWithoutSteppingTable() {
+        testEnigma.setDoubleStepping(true);
+        EnigmaConfig config = testEnigma.compileConfig();
+        EnigmaCursor cursor = config.newCursor();
+        cursor.encrypt(makeMessage(100), new int[100], 0, 100);
+        assertFalse(config.isSteppingTableCompiled());
+        cursor.seek(40);
+        assertTrue(config.isSteppingTableCompiled());
+
+        Enigma large = new Enigma(ByteEnigma.byteAlphabet());
+        for (int r = 0; r < 4; r += 1) {
+            large.retrieveRotor(1, "Rotor " + r);
+        }
+        large.setDoubleStepping(true);
+        large.encryptMessage("abc");
+        EnigmaConfig largeConfig = large.compileConfig();
+        EnigmaCursor largeCursor = largeConfig.newCursor();
+        assertThrows(UnsupportedOperationException.class, () -> largeCursor.seek(2));
+        assertThrows(UnsupportedOperationException.class, () -> large.seek(2));
+        largeCursor.seek(0);
+        assertArrayEquals(largeConfig.getStartRotationTable(), largeCursor.getRotations());
+        large.seek(0);
+        assertEquals(0, large.getRotorsToUse().get(0).getRotation());
+    }
+
+    // Test newCursor
+    @Test
+    void testNewCursor() {
+        EnigmaConfig config = testEnigma.compileConfig();
+        assertEquals(6, config.getSize());
+        assertEquals(3, config.getRotorCount());
+        assertFalse(config.hasPeriodTable());
+        int[] message = makeMessage(300);
+        EnigmaCursor cursor = config.newCursor();
+        for (int index : message) {
+            assertEquals(testEnigma.encrypt(config.getCodec().decode(index)),
+                    config.getCodec().decode(cursor.encrypt(index)));
+        }
+        assertEquals(300, cursor.getPosition());
+        EnigmaCursor later = config.newCursor(100);
+        EnigmaCursor copy = cursor.copy();
+        cursor.seek(100);
+        assertSame(config, copy.getConfig());
+        assertArrayEquals(cursor.getRotations(), later.getRotations());
+        assertEquals(cursor.encrypt("A"), later.encrypt("A"));
+        assertEquals(300, copy.getPosition());
+    }
+
+    // The composed wiring is rebuilt only when the inner rotors rotate, and not at all for
+    // cog wheels, which rotate them on every symbol
+    @Test
+    void testCoreRebuilds() {
+        EnigmaConfig notched = testEnigma.compileConfig();
+        testEnigma.setSteppingPolicy(new CogWheelStepping(1, 2, 5));
+        EnigmaConfig cogWheels = testEnigma.compileConfig();
+        EnigmaCursor notchedCursor = notched.newCursor();
+        EnigmaCursor cogCursor = cogWheels.newCursor();
+        for (int index : makeMessage(360)) {
+            assertEquals(testEnigma.encrypt(cogWheels.getCodec().decode(index)),
+                    cogWheels.getCodec().decode(cogCursor.encrypt(index)));
+            notchedCursor.encrypt(index);
+        }
+        assertEquals(0, cogCursor.getCoreRebuilds());
+        assertTrue(notchedCursor.getCoreRebuilds() > 0);
+        assertTrue(notchedCursor.getCoreRebuilds() <= 2 + 360 / 6 + 360 / 36);
+    }
+
+    // Test withPeriodTable
+    @Test
+    void testWithPeriodTable() {
+        EnigmaConfig config = testEnigma.compileConfig();
+        assertSame(config, config.withPeriodTable(100));
+        EnigmaConfig withTable = config.withPeriodTable(CompiledEnigma.DEFAULT_PERIOD_TABLE_BUDGET);
+        assertTrue(withTable.hasPeriodTable());
+        assertFalse(config.hasPeriodTable());
+        assertArrayEquals(config.getStartRotations(), withTable.getStartRotations());
+        int[] message = makeMessage(LENGTH);
+        int[] expected = new int[LENGTH];
+        int[] output = new int[LENGTH];
+        config.newCursor(17).encrypt(message, expected, 0, LENGTH);
+        withTable.newCursor(17).encrypt(message, output, 0, LENGTH);
+        assertArrayEquals(expected, output);
+    }
+
+    // Many threads, each with its own cursor over one shared configuration
+    @Test
+    void testSharedBetweenThreads() throws Exception {
+        EnigmaConfig config = testEnigma.compileConfig();
+        int[] message = makeMessage(LENGTH);
+        int[] expected = new int[LENGTH];
+        config.newCursor().encrypt(message, expected, 0, LENGTH);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t += 1) {
+            int from = t * LENGTH / 8;
+            results.add(pool.submit(() -> {
+                int[] output = new int[LENGTH];
+                config.newCursor(from).encrypt(message, output, from, LENGTH - from);
+                return output;
+            }));
+        }
+        for (int t = 0; t < 8; t += 1) {
+            int from = t * LENGTH / 8;
+            int[] output = results.get(t).get();
+            assertArrayEquals(Arrays.copyOfRange(expected, from, LENGTH), Arrays.copyOfRange(output, from, LENGTH));
+        }
+        pool.shutdown();
+    }
+}
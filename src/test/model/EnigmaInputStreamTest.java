@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnigmaInputStreamTest {
+
+    private HashSet<String> testIO = new HashSet<>();
+    private Enigma testEnigma;
+    private Enigma expectedEnigma;
+
+    @BeforeEach
+    void setup() {
+        testIO.add("W");
+        testIO.add("X");
+        testIO.add("Y");
+        testIO.add("Z");
+        testEnigma = new Enigma(testIO);
+        testEnigma.retrieveRotor(1, "Rotor 1");
+        expectedEnigma = new Enigma(testIO);
+        expectedEnigma.retrieveRotor(1, "Rotor 1");
+    }
+
+    // Test read
+    @Test
+    void testRead() throws IOException {
+        byte[] data = "WXYZ\n\u00ffWW".getBytes(StandardCharsets.ISO_8859_1);
+        EnigmaInputStream in = new EnigmaInputStream(new ByteArrayInputStream(data), testEnigma);
+
+        // Test
+        assertEquals(expectedEnigma.encrypt("W").charAt(0), in.read());
+        byte[] buffer = new byte[16];
+        int read = in.read(buffer, 0, buffer.length);
+        assertEquals(expectedEnigma.encryptMessage("XYZ") + "\n\u00ff" + expectedEnigma.encryptMessage("WW"),
+                new String(buffer, 0, read, StandardCharsets.ISO_8859_1));
+        assertEquals(-1, in.read());
+        assertEquals("", testEnigma.getOriginalMessage());
+    }
+
+    // Test reset
+    @Test
+    void testReset() throws IOException {
+        EnigmaInputStream in = new EnigmaInputStream(new ByteArrayInputStream("WX".getBytes()), testEnigma);
+        assertEquals(expectedEnigma.encrypt("W").charAt(0), in.read());
+        in.mark(10);
+        assertThrows(IOException.class, in::reset);
+        assertFalse(in.markSupported());
+        assertEquals(expectedEnigma.encrypt("X").charAt(0), in.read());
+        assertEquals(-1, in.read());
+    }
+}
@@ -0,0 +1,53 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnigmaOutputStreamTest {
+
+    private HashSet<String> testIO = new HashSet<>();
+    private Enigma testEnigma;
+    private Enigma expectedEnigma;
+
+    @BeforeEach
+    void setup() {
+        testIO.add("W");
+        testIO.add("X");
+        testIO.add("Y");
+        testIO.add("Z");
+        testEnigma = new Enigma(testIO);
+        testEnigma.retrieveRotor(1, "Rotor 1");
+        testEnigma.retrieveRotor(1, "Rotor 2");
+        expectedEnigma = new Enigma(testIO);
+        expectedEnigma.retrieveRotor(1, "Rotor 1");
+        expectedEnigma.retrieveRotor(1, "Rotor 2");
+    }
+
+    // Test write
+    @Test
+    void testWrite() throws IOException {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 20000; i += 1) {
+            message.append("WXYZ.".charAt((i * 7 + i / 3) % 5));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EnigmaOutputStream out = new EnigmaOutputStream(bytes, testEnigma);
+        out.write('W');
+        out.write(message.toString().getBytes(StandardCharsets.ISO_8859_1));
+        out.close();
+
+        // Test
+        StringBuilder expected = new StringBuilder(expectedEnigma.encrypt("W"));
+        for (int i = 0; i < message.length(); i += 1) {
+            char c = message.charAt(i);
+            expected.append(c == '.' ? "." : expectedEnigma.encrypt(String.valueOf(c)));
+        }
+        assertEquals(expected.toString(), bytes.toString("ISO-8859-1"));
+    }
+}
@@ -0,0 +1,76 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnigmaReaderTest {
+
+    private HashSet<String> testIO = new HashSet<>();
+    private Enigma testEnigma;
+    private Enigma expectedEnigma;
+
+    @BeforeEach
+    void setup() {
+        testIO.add("W");
+        testIO.add("X");
+        testIO.add("Y");
+        testIO.add("Z");
+        testEnigma = new Enigma(testIO);
+        testEnigma.retrieveRotor(1, "Rotor 1");
+        testEnigma.retrieveRotor(1, "Rotor 2");
+        expectedEnigma = new Enigma(testIO);
+        expectedEnigma.retrieveRotor(1, "Rotor 1");
+        expectedEnigma.retrieveRotor(1, "Rotor 2");
+    }
+
+    // Test read
+    // Characters one by one, non-inputs pass through
+    @Test
+    void testReadOneByOne() throws IOException {
+        EnigmaReader reader = new EnigmaReader(new StringReader("WX Y-Z"), testEnigma);
+
+        // Test
+        assertEquals(expectedEnigma.encrypt("W").charAt(0), reader.read());
+        assertEquals(expectedEnigma.encrypt("X").charAt(0), reader.read());
+        assertEquals(' ', reader.read());
+        assertEquals(expectedEnigma.encrypt("Y").charAt(0), reader.read());
+        assertEquals('-', reader.read());
+        assertEquals(expectedEnigma.encrypt("Z").charAt(0), reader.read());
+        assertEquals(-1, reader.read());
+        assertEquals("", testEnigma.getOriginalMessage());
+        assertEquals("", testEnigma.getEncryptedMessage());
+    }
+
+    // Into a buffer, after skipping
+    @Test
+    void testReadBufferAfterSkip() throws IOException {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 3000; i += 1) {
+            message.append("WXYZ".charAt((i * 5 + i / 7) % 4));
+        }
+        EnigmaReader reader = new EnigmaReader(new StringReader(message.toString()), testEnigma);
+        String expected = expectedEnigma.encryptMessage(message);
+
+        // Test
+        assertEquals(1500, reader.skip(1500));
+        char[] buffer = new char[2000];
+        int read = reader.read(buffer, 0, buffer.length);
+        assertEquals(expected.substring(1500, 1500 + read), new String(buffer, 0, read));
+        assertFalse(reader.markSupported());
+    }
+
+    // Test reset
+    @Test
+    void testReset() throws IOException {
+        EnigmaReader reader = new EnigmaReader(new StringReader("WX"), testEnigma);
+        assertEquals(expectedEnigma.encrypt("W").charAt(0), reader.read());
+        assertThrows(IOException.class, reader::reset);
+        assertEquals(expectedEnigma.encrypt("X").charAt(0), reader.read());
+        assertEquals(-1, reader.read());
+    }
+}
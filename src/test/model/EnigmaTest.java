@@ -154,5 +154,332 @@ class EnigmaTest {
         assertEquals(0, testEnigma.getRotorsToUse().get(0).getRotation());
         assertEquals(1, testEnigma.getRotorsToUse().get(1).getRotation());
     }
+
+    // Enigma has three rotors, they rotate like an odometer
+    @Test
+    void testEncryptThreeDefault() {
+        // Change
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(1, "Default 2");
+        testEnigma.retrieveRotor(1, "Default 3");
+        for (int i = 0; i < 4 * 4 * 2 + 4 + 3; i += 1) {
+            testEnigma.encrypt("W");
+        }
+
+        // Test
+        assertEquals(3, testEnigma.getRotorsToUse().get(0).getRotation());
+        assertEquals(1, testEnigma.getRotorsToUse().get(1).getRotation());
+        assertEquals(2, testEnigma.getRotorsToUse().get(2).getRotation());
+        assertEquals(39, testEnigma.getPosition());
+    }
     // TODO: test two rotors manually-added
+
+    // Test encrypt by code
+    @Test
+    void testEncryptCode() {
+        // Change
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(1, "Default 2");
+        Enigma bySymbol = new Enigma(testIO);
+        bySymbol.retrieveRotor(1, "Default 1");
+        bySymbol.retrieveRotor(1, "Default 2");
+        SymbolCodec codec = testEnigma.getCodec();
+
+        // Test
+        assertEquals(4, codec.size());
+        for (int i = 0; i < 40; i += 1) {
+            String s = codec.decode((i * 3) % 4);
+            assertEquals(bySymbol.encrypt(s), codec.decode(testEnigma.encrypt(codec.encode(s))));
+        }
+        assertEquals("", testEnigma.getOriginalMessage());
+        assertEquals(40, testEnigma.getPosition());
+    }
+
+    // Test seek
+    // Forward and backward, compared with encrypting one by one
+    @Test
+    void testSeek() {
+        // Change
+        Enigma oneByOne = new Enigma(testIO);
+        for (int r = 1; r <= 3; r += 1) {
+            testEnigma.retrieveRotor(1, "Rotor " + r);
+            oneByOne.retrieveRotor(1, "Rotor " + r);
+        }
+        for (int i = 0; i < 5; i += 1) {
+            testEnigma.encrypt("W");
+        }
+        testEnigma.seek(150);
+        for (int i = 0; i < 150; i += 1) {
+            oneByOne.encrypt("X");
+        }
+
+        // Test
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(oneByOne.getRotorsToUse().get(r).getRotation(),
+                    testEnigma.getRotorsToUse().get(r).getRotation());
+        }
+        assertEquals(150, testEnigma.getPosition());
+        assertEquals("WWWWW", testEnigma.getOriginalMessage());
+        testEnigma.seek(0);
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(0, testEnigma.getRotorsToUse().get(r).getRotation());
+        }
+    }
+
+    // Test encrypt over a block of codes
+    @Test
+    void testEncryptBlock() {
+        int[] message = {0, 1, 2, 3, 3, 2, 1, 0, 0, 2};
+        int[] output = new int[message.length];
+        Enigma noRotor = testEnigma.fork();
+        testEnigma.encrypt(message, output, 0, message.length);
+        for (int i = 0; i < message.length; i++) {
+            assertEquals(noRotor.encrypt(message[i]), output[i]);
+        }
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(1, "Default 2");
+        Enigma withRotors = testEnigma.fork();
+        testEnigma.encrypt(message, output, 2, 8);
+        for (int i = 2; i < message.length; i++) {
+            assertEquals(withRotors.encrypt(message[i]), output[i]);
+        }
+        assertEquals(8, testEnigma.getPosition());
+        for (int r = 0; r < 2; r++) {
+            assertEquals(withRotors.getRotorsToUse().get(r).getRotation(),
+                    testEnigma.getRotorsToUse().get(r).getRotation());
+        }
+    }
+
+    // Test encrypt with no rotors after the plugboard changes
+    @Test
+    void testEncryptAfterPlugboardChange() {
+        int before = testEnigma.encrypt(0);
+        testPlugboard.connect(0, 1);
+        assertEquals(testPlugboard.passThroughWire(null, null,
+                testInverter.passThroughWire(null, null, 1)), testEnigma.encrypt(0));
+        testPlugboard.disconnect(0);
+        assertEquals(before, testEnigma.encrypt(0));
+    }
+
+    // Test snapshot and restore
+    @Test
+    void testSnapshotRestore() {
+        // Change
+        for (int r = 1; r <= 3; r += 1) {
+            testEnigma.retrieveRotor(1, "Rotor " + r);
+        }
+        testEnigma.encryptMessage("WXYZW");
+        EnigmaSnapshot snapshot = testEnigma.snapshot();
+        String first = testEnigma.encryptMessage("XXYYZZWWXY");
+        testEnigma.restore(snapshot);
+
+        // Test
+        assertEquals(3, snapshot.getRotorCount());
+        assertEquals(5, snapshot.getPosition());
+        assertEquals(1, snapshot.getRotation(0));
+        assertEquals(1, snapshot.getRotation(1));
+        assertEquals(5, testEnigma.getPosition());
+        assertEquals(first, testEnigma.encryptMessage("XXYYZZWWXY"));
+        assertEquals("WXYZWXXYYZZWWXYXXYYZZWWXY", testEnigma.getOriginalMessage());
+    }
+
+    // Test stepBack
+    @Test
+    void testStepBack() {
+        // Change
+        for (int r = 1; r <= 3; r += 1) {
+            testEnigma.retrieveRotor(1, "Rotor " + r);
+        }
+        testEnigma.encryptMessage("WXYZ");
+        EnigmaSnapshot snapshot = testEnigma.snapshot();
+        String encrypted = testEnigma.getEncryptedMessage();
+        String tail = testEnigma.encryptMessage("ZZYYXXWW");
+        testEnigma.stepBack(8);
+
+        // Test
+        assertEquals(4, testEnigma.getPosition());
+        assertEquals("WXYZ", testEnigma.getOriginalMessage());
+        assertEquals(encrypted, testEnigma.getEncryptedMessage());
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(snapshot.getRotation(r), testEnigma.getRotorsToUse().get(r).getRotation());
+        }
+        assertEquals(tail, testEnigma.encryptMessage("ZZYYXXWW"));
+        testEnigma.stepBack(12);
+        for (int r = 0; r < 3; r += 1) {
+            assertEquals(0, testEnigma.getRotorsToUse().get(r).getRotation());
+        }
+        assertEquals("", testEnigma.getOriginalMessage());
+    }
+
+    // Symbols of more than one character are removed whole
+    @Test
+    void testStepBackLongSymbols() {
+        Enigma enigma = new Enigma(new HashSet<>(Arrays.asList("QU", "Q", "E", "EE")));
+        enigma.retrieveRotor(1, "Default");
+        enigma.encrypt("QU");
+        String original = enigma.getOriginalMessage();
+        String encrypted = enigma.getEncryptedMessage();
+        enigma.encryptMessage(Arrays.asList("EE", "Q", "QU"));
+        enigma.encrypt("E");
+        enigma.stepBack(4);
+
+        assertEquals(1, enigma.getPosition());
+        assertEquals(original, enigma.getOriginalMessage());
+        assertEquals(encrypted, enigma.getEncryptedMessage());
+        enigma.stepBack(1);
+        assertEquals("", enigma.getOriginalMessage());
+        assertEquals("", enigma.getEncryptedMessage());
+
+        List<String> originals = new ArrayList<>();
+        List<String> symbols = Arrays.asList("E", "QU", "Q", "Q", "EE", "E", "E", "QU", "EE");
+        for (String s : symbols) {
+            originals.add(enigma.getOriginalMessage());
+            enigma.encrypt(s);
+        }
+        for (int i = symbols.size() - 1; i >= 0; i -= 1) {
+            enigma.stepBack(1);
+            assertEquals(originals.get(i), enigma.getOriginalMessage());
+        }
+    }
+
+    // Test double stepping, with the notches of historical rotors III, II and I
+    @Test
+    void testDoubleStepping() {
+        // Change
+        HashSet<String> alphabet = new HashSet<>();
+        for (char c = 'A'; c <= 'Z'; c += 1) {
+            alphabet.add(String.valueOf(c));
+        }
+        Enigma enigma = new Enigma(alphabet);
+        int[] notches = {'V' - 'A', 'E' - 'A', 'Q' - 'A'};
+        int[] start = {'U' - 'A', 'D' - 'A', 0};
+        for (int r = 0; r < 3; r += 1) {
+            enigma.getRotorBox().getRotors().get(0).setNotches(notches[r]);
+            enigma.retrieveRotor(1, "Rotor " + r);
+        }
+        for (int r = 0; r < 3; r += 1) {
+            enigma.getRotorsToUse().get(r).setRotation(start[r]);
+        }
+        enigma.resetPosition();
+        enigma.setDoubleStepping(true);
+
+        // Test: ADU, ADV, AEW, BFX, BFY from left to right
+        int[][] expected = {{21, 3, 0}, {22, 4, 0}, {23, 5, 1}, {24, 5, 1}};
+        for (int[] rotations : expected) {
+            enigma.encrypt("A");
+            for (int r = 0; r < 3; r += 1) {
+                assertEquals(rotations[r], enigma.getRotorsToUse().get(r).getRotation());
+            }
+        }
+        assertTrue(enigma.isDoubleStepping());
+        assertEquals(notches[2], enigma.getRotorsToUse().get(2).getNotches()[0]);
+        enigma.stepBack(3);
+        assertEquals(1, enigma.getPosition());
+        assertEquals(21, enigma.getRotorsToUse().get(0).getRotation());
+        assertEquals(3, enigma.getRotorsToUse().get(1).getRotation());
+        assertEquals("A", enigma.getOriginalMessage());
+
+        List<EnigmaSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < 2000; i += 1) {
+            snapshots.add(enigma.snapshot());
+            enigma.encrypt("A");
+        }
+        for (int i = snapshots.size() - 1; i >= 0; i -= 1) {
+            enigma.stepBack(1);
+            assertEquals(snapshots.get(i).getPosition(), enigma.getPosition());
+            for (int r = 0; r < 3; r += 1) {
+                assertEquals(snapshots.get(i).getRotation(r), enigma.getRotorsToUse().get(r).getRotation());
+            }
+        }
+    }
+
+    // Test fork
+    @Test
+    void testFork() {
+        // Change
+        for (int r = 1; r <= 2; r += 1) {
+            testEnigma.retrieveRotor(1, "Rotor " + r);
+        }
+        testEnigma.encryptMessage("WXY");
+        Enigma forked = testEnigma.fork();
+        String fromFork = forked.encryptMessage("ZZZZZZZ");
+
+        // Test
+        assertNotSame(testEnigma.getPlugboard(), forked.getPlugboard());
+        assertEquals("ZZZZZZZ", forked.getOriginalMessage());
+        assertEquals(10, forked.getPosition());
+        assertEquals(3, testEnigma.getPosition());
+        assertEquals(3, testEnigma.getRotorsToUse().get(0).getRotation());
+        assertEquals("Rotor 1", forked.getRotorsToUse().get(0).getName());
+        assertEquals(fromFork, testEnigma.encryptMessage("ZZZZZZZ"));
+        assertEquals("WXYZZZZZZZ", testEnigma.getOriginalMessage());
+    }
+
+    // A fork rewired or given new rotors leaves the machine it came from unchanged
+    @Test
+    void testForkRewired() {
+        // Change
+        testEnigma.retrieveRotor(1, "Rotor 1");
+        Enigma forked = testEnigma.fork();
+        Enigma reference = testEnigma.fork();
+        forked.getPlugboard().connect("W", "X");
+        forked.getRotorBox().addRotors(new Rotor("extra", new LinkedHashSet<>(testIO)));
+
+        // Test
+        assertEquals("W", testEnigma.getPlugboard().getConnections().get("W"));
+        assertEquals("X", forked.getPlugboard().getConnections().get("W"));
+        assertEquals(1, testEnigma.getRotorBox().getRotors().size());
+        assertEquals(2, forked.getRotorBox().getRotors().size());
+        assertEquals(reference.encryptMessage("WXYZWXYZ"), testEnigma.encryptMessage("WXYZWXYZ"));
+    }
+
+    // Test encryptMessage
+    // Whole message as characters, same as encrypting one by one
+    @Test
+    void testEncryptMessageCharSequence() {
+        // Change
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(1, "Default 2");
+        Enigma oneByOne = new Enigma(testIO);
+        oneByOne.retrieveRotor(1, "Default 1");
+        oneByOne.retrieveRotor(1, "Default 2");
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 100; i += 1) {
+            message.append("WXYZ".charAt((i * 3) % 4));
+            oneByOne.encrypt(String.valueOf(message.charAt(i)));
+        }
+
+        // Test
+        assertEquals(oneByOne.getEncryptedMessage(), testEnigma.encryptMessage(message));
+        assertEquals(message.toString(), testEnigma.getOriginalMessage());
+        assertEquals(oneByOne.getEncryptedMessage(), testEnigma.getEncryptedMessage());
+        assertEquals(oneByOne.getRotorsToUse().get(1).getRotation(),
+                testEnigma.getRotorsToUse().get(1).getRotation());
+    }
+
+    // List of symbols
+    @Test
+    void testEncryptMessageList() {
+        // Test
+        assertEquals(Arrays.asList("Z", "Y", "X", "W"),
+                testEnigma.encryptMessage(Arrays.asList("W", "X", "Y", "Z")));
+        assertEquals("WXYZ", testEnigma.getOriginalMessage());
+        assertEquals("ZYXW", testEnigma.getEncryptedMessage());
+    }
+
+    // History is not retained
+    @Test
+    void testEncryptWithoutHistory() {
+        // Change
+        testEnigma.encrypt("W");
+        testEnigma.setRetainHistory(false);
+
+        // Test
+        assertFalse(testEnigma.isRetainingHistory());
+        assertEquals("Y", testEnigma.encrypt("X"));
+        assertEquals("XW", testEnigma.encryptMessage("YZ"));
+        assertEquals(Arrays.asList("Z"), testEnigma.encryptMessage(Arrays.asList("W")));
+        assertEquals("W", testEnigma.getOriginalMessage());
+        assertEquals("Z", testEnigma.getEncryptedMessage());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnigmaWriterTest {
+
+    private HashSet<String> testIO = new HashSet<>();
+    private Enigma testEnigma;
+    private Enigma expectedEnigma;
+
+    @BeforeEach
+    void setup() {
+        testIO.add("W");
+        testIO.add("X");
+        testIO.add("Y");
+        testIO.add("Z");
+        testEnigma = new Enigma(testIO);
+        testEnigma.retrieveRotor(1, "Rotor 1");
+        expectedEnigma = new Enigma(testIO);
+        expectedEnigma.retrieveRotor(1, "Rotor 1");
+    }
+
+    // Test write
+    // Long message written in parts larger than the buffer
+    @Test
+    void testWriteLongMessage() throws IOException {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 5000; i += 1) {
+            message.append("WXYZ".charAt((i * 3 + i / 5) % 4));
+        }
+        StringWriter out = new StringWriter();
+        EnigmaWriter writer = new EnigmaWriter(out, testEnigma);
+        writer.write(message.substring(0, 2500));
+        writer.write(message.substring(2500).toCharArray());
+        writer.close();
+
+        // Test
+        assertEquals(expectedEnigma.encryptMessage(message), out.toString());
+        assertEquals("", testEnigma.getEncryptedMessage());
+    }
+
+    // Characters one by one, non-inputs pass through
+    @Test
+    void testWriteOneByOne() throws IOException {
+        StringWriter out = new StringWriter();
+        EnigmaWriter writer = new EnigmaWriter(out, testEnigma);
+        writer.write('W');
+        writer.write('!');
+        writer.write('X');
+        writer.flush();
+
+        // Test
+        assertEquals(expectedEnigma.encrypt("W") + "!" + expectedEnigma.encrypt("X"), out.toString());
+    }
+}
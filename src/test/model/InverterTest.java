@@ -46,5 +46,71 @@ public class InverterTest {
         assertEquals(1, testInverter.passThroughWire(null, null, 2));
         assertEquals(0, testInverter.passThroughWire(null, null, 3));
     }
-    // TODO: change in wiring; implement after changeElectricWiring method
+
+    // Given wiring
+    @Test
+    void testPassThroughWireGivenWiring() {
+        // Change
+        Map<String, String> inversions = new HashMap<>();
+        inversions.put("W", "Y");
+        inversions.put("Y", "W");
+        inversions.put("X", "Z");
+        inversions.put("Z", "X");
+        Inverter inverter = new Inverter(new LinkedHashSet<>(testInverter.getIO()), inversions);
+
+        // Test
+        assertEquals(2, inverter.passThroughWire(null, null, 0));
+        assertEquals(3, inverter.passThroughWire(null, null, 1));
+        assertEquals(0, inverter.passThroughWire(null, null, 2));
+        assertEquals(1, inverter.passThroughWire(null, null, 3));
+        assertEquals("Y", inverter.getInversions().get("W"));
+    }
+
+    // Batch of indices, in place
+    @Test
+    void testPassThroughWireBatch() {
+        // Change
+        int[] indices = {0, 1, 2, 3, 0};
+        testInverter.passThroughWire(indices, indices, 0, indices.length);
+
+        // Test
+        assertArrayEquals(new int[] {3, 2, 1, 0, 3}, indices);
+    }
+
+    // Historical wiring
+    @Test
+    void testHistoricalWiring() {
+        // Change
+        LinkedHashSet<String> io = new LinkedHashSet<>();
+        for (char c = 'A'; c <= 'Z'; c += 1) {
+            io.add(String.valueOf(c));
+        }
+        Inverter ukwB = new Inverter(io, Inverter.wiringOf(Inverter.ALPHABET, Inverter.UKW_B));
+        Inverter ukwC = new Inverter(io, Inverter.wiringOf(Inverter.ALPHABET, Inverter.UKW_C));
+
+        // Test
+        assertEquals(24, ukwB.passThroughWire(null, null, 0));
+        assertEquals("Y", ukwB.getInversions().get("A"));
+        assertEquals("F", ukwC.getInversions().get("A"));
+        for (int i = 0; i < 26; i += 1) {
+            assertEquals(i, ukwC.passThroughWire(null, null, ukwC.passThroughWire(null, null, i)));
+        }
+    }
+
+    // Invalid wiring: a fixed point, not a pairing, an input missing, or an output outside io
+    @Test
+    void testInvalidWiring() {
+        // Change
+        HashSet<String> io = new HashSet<>(testInverter.getIO());
+        Map<String, String> fixedPoint = Inverter.wiringOf("WXYZ", "WZYX");
+        Map<String, String> notPairing = Inverter.wiringOf("WXYZ", "XYZW");
+        Map<String, String> missing = Inverter.wiringOf("WX", "XW");
+        Map<String, String> outside = Inverter.wiringOf("WAXYZB", "AWYXBZ");
+
+        // Test
+        assertThrows(IllegalArgumentException.class, () -> new Inverter(io, fixedPoint));
+        assertThrows(IllegalArgumentException.class, () -> new Inverter(io, notPairing));
+        assertThrows(IllegalArgumentException.class, () -> new Inverter(io, missing));
+        assertThrows(IllegalArgumentException.class, () -> new Inverter(io, outside));
+    }
 }
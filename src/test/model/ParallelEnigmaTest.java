@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelEnigmaTest {
+
+    private Enigma testEnigma;
+
+    @BeforeEach
+    void setup() {
+        testEnigma = TestEnigmas.withCrossedRotor(1);
+        testEnigma.retrieveRotor(2, "Crossed 1");
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(2, "Crossed 2");
+    }
+
+    // Test encrypt
+    // Same as encrypting in order, starting after some symbols were encrypted
+    @Test
+    void testEncryptSameAsSequential() {
+        CompiledEnigma compiled = testEnigma.compile();
+        compiled.encrypt(0);
+        compiled.encrypt(3);
+        CompiledEnigma sequential = compiled.copy();
+        int[] input = new int[100000];
+        int[] expected = new int[input.length];
+        int[] output = new int[input.length];
+        for (int i = 0; i < input.length; i += 1) {
+            input[i] = (i * 7 + i / 13) % 6;
+        }
+        sequential.encrypt(input, expected, 0, input.length);
+        ParallelEnigma parallel = new ParallelEnigma(compiled, new ForkJoinPool(4), 1000);
+        parallel.encrypt(input, output, 0, input.length);
+
+        // Test
+        assertArrayEquals(expected, output);
+        assertEquals(sequential.getPosition(), compiled.getPosition());
+        assertArrayEquals(sequential.getRotations(), compiled.getRotations());
+    }
+
+    // Characters
+    @Test
+    void testEncryptMessage() {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 5000; i += 1) {
+            message.append("ABCDEF".charAt((i * 5 + i / 3) % 6));
+        }
+        ParallelEnigma parallel = new ParallelEnigma(testEnigma.compile(), ForkJoinPool.commonPool(), 64);
+
+        // Test
+        assertEquals(testEnigma.encryptMessage(message), parallel.encryptMessage(message));
+    }
+}
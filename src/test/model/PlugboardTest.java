@@ -46,8 +46,101 @@ public class PlugboardTest {
         assertEquals(3, testPlugboard.passThroughWire(null, null, 3));
     }
     // Change in wiring
-    // @Test
-    // void testPassThroughWireChangeWiring() {
-    // TODO: Test after implementing changeElectricWiring method
-    // }
+    @Test
+    void testPassThroughWireChangeWiring() {
+        // Change
+        testPlugboard.connect("W", "Y");
+
+        // Test
+        assertEquals(2, testPlugboard.passThroughWire(null, null, 0));
+        assertEquals(1, testPlugboard.passThroughWire(null, null, 1));
+        assertEquals(0, testPlugboard.passThroughWire(null, null, 2));
+        assertEquals("Y", testPlugboard.getConnections().get("W"));
+        assertEquals("W", testPlugboard.getConnections().get("Y"));
+        assertEquals("X", testPlugboard.getConnections().get("X"));
+    }
+
+    // Batch of indices, part of an array
+    @Test
+    void testPassThroughWireBatch() {
+        // Change
+        testPlugboard.connect("W", "Y");
+        int[] in = {0, 1, 2, 3, 2};
+        int[] out = {-1, -1, -1, -1, -1};
+        testPlugboard.passThroughWire(in, out, 1, 3);
+
+        // Test
+        assertArrayEquals(new int[] {-1, 1, 0, 3, -1}, out);
+    }
+
+    // Test connect
+    // Not a pairing
+    @Test
+    void testConnectInvalid() {
+        // Change
+        testPlugboard.connect(0, 1);
+
+        // Test
+        assertThrows(IllegalArgumentException.class, () -> testPlugboard.connect("W", "Z"));
+        assertThrows(IllegalArgumentException.class, () -> testPlugboard.connect("Z", "X"));
+        assertThrows(IllegalArgumentException.class, () -> testPlugboard.connect("Z", "Z"));
+        assertThrows(IllegalArgumentException.class, () -> testPlugboard.connect("Z", "A"));
+        assertThrows(IllegalArgumentException.class, () -> testPlugboard.connect(2, 4));
+        assertEquals(1, testPlugboard.passThroughWire(null, null, 0));
+        assertEquals(3, testPlugboard.passThroughWire(null, null, 3));
+    }
+
+    // Test disconnect
+    @Test
+    void testDisconnect() {
+        // Change
+        testPlugboard.connect("W", "Z");
+        testPlugboard.disconnect("Z");
+        testPlugboard.disconnect("X");
+
+        // Test
+        for (int i = 0; i < 4; i += 1) {
+            assertEquals(i, testPlugboard.passThroughWire(null, null, i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> testPlugboard.disconnect(-1));
+    }
+
+    // Test swap
+    @Test
+    void testSwap() {
+        // Change
+        testPlugboard.connect("W", "X");
+        testPlugboard.swap("X", "Y");
+
+        // Test
+        assertEquals("Y", testPlugboard.getConnections().get("W"));
+        assertEquals("X", testPlugboard.getConnections().get("X"));
+        // Change
+        testPlugboard.connect("X", "Z");
+        testPlugboard.swap("W", "Z");
+        testPlugboard.swap("X", "W");
+
+        // Test
+        assertEquals("Z", testPlugboard.getConnections().get("Y"));
+        assertEquals("W", testPlugboard.getConnections().get("X"));
+        assertEquals("Y", testPlugboard.getConnections().get("Z"));
+    }
+
+    // Test constructor with connections
+    @Test
+    void testConstructorWithConnections() {
+        // Change
+        HashSet<String> io = new HashSet<>(testPlugboard.getIO());
+        Map<String, String> connections = new HashMap<>();
+        connections.put("W", "X");
+        connections.put("X", "W");
+        connections.put("Y", "Y");
+        Plugboard plugboard = new Plugboard(io, connections);
+        connections.put("Z", "W");
+
+        // Test
+        assertEquals("X", plugboard.getConnections().get("W"));
+        assertEquals("Z", plugboard.getConnections().get("Z"));
+        assertThrows(IllegalArgumentException.class, () -> new Plugboard(io, connections));
+    }
 }
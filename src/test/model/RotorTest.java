@@ -1,5 +1,6 @@
 package model;
 
+import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import persistence.JsonSaver;
@@ -238,5 +239,206 @@ public class RotorTest {
         assertEquals(3, testRotor.passThroughWire(testRotor.getRotorLeft(),
                 testRotor.getRotorRight(), 3));
     }
+
+    // Crossed wiring after rotation, both sides keep the same ordering as the lists show
+    @Test
+    void testPassThroughWireCrossedAfterRotation() {
+        // Change
+        Map<String, String> crossed = new HashMap<>();
+        crossed.put("W", "Y");
+        crossed.put("X", "W");
+        crossed.put("Y", "Z");
+        crossed.put("Z", "X");
+        Rotor crossedRotor = new Rotor("crossed", testRotorRight, crossed);
+        crossedRotor.rotate();
+        crossedRotor.rotate();
+        crossedRotor.rotate();
+
+        // Test
+        List<String> right = crossedRotor.getRotorRight();
+        List<String> left = crossedRotor.getRotorLeft();
+        for (int i = 0; i < fullRound; i++) {
+            assertEquals(left.indexOf(crossed.get(right.get(i))),
+                    crossedRotor.passThroughWire(right, left, i));
+        }
+    }
     // TODO: change in wiring; implement after implementing changeElectricWiring method
+
+    // ----------------------------------------------------
+    // Test sides after rotation
+    @Test
+    void testSidesAfterRotation() {
+        // Change
+        testRotor.rotate();
+        testRotor.rotate();
+
+        // Test
+        assertEquals(Arrays.asList("Y", "Z", "W", "X"), testRotor.getRotorRight());
+        assertEquals(Arrays.asList("Y", "Z", "W", "X"), testRotor.getRotorLeft());
+        assertEquals("W", testRotor.getRightWithIndex(2));
+        assertEquals("X", testRotor.getLeftWithIndex(3));
+        assertEquals(2, testRotor.getRotorRight().indexOf("W"));
+        assertEquals(-1, testRotor.getRotorRight().indexOf("A"));
+    }
+
+    // Large alphabet, many rotations
+    @Test
+    void testRotateLargeAlphabet() {
+        // Change
+        LinkedHashSet<String> io = new LinkedHashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            io.add("S" + i);
+        }
+        Rotor largeRotor = new Rotor("large", io);
+        for (int i = 0; i < 1500; i++) {
+            largeRotor.rotate();
+        }
+
+        // Test
+        assertEquals(500, largeRotor.getRotation());
+        assertEquals("S500", largeRotor.display());
+        assertEquals("S499", largeRotor.getRightWithIndex(999));
+        assertEquals(7, largeRotor.passThroughWire(largeRotor.getRotorRight(), largeRotor.getRotorLeft(), 7));
+    }
+
+    // Table sizes for alphabets that fit in a char table and that do not
+    @Test
+    void testTableBytesLargeAlphabet() {
+        // Change
+        LinkedHashSet<String> io = new LinkedHashSet<>();
+        for (int i = 0; i < 65536; i++) {
+            io.add("S" + i);
+        }
+        Rotor compactRotor = new Rotor("compact", io);
+        for (int i = 65536; i < 70000; i++) {
+            io.add("S" + i);
+        }
+        Rotor wideRotor = new Rotor("wide", io);
+        wideRotor.rotate();
+
+        // Test
+        assertEquals(65536, compactRotor.getRotorRight().size());
+        assertEquals(2 * 65536 + 65536 + 4, compactRotor.getTableBytes());
+        assertEquals(4 * 70000 + 70000 + 4, wideRotor.getTableBytes());
+        assertEquals(69998, wideRotor.passThroughWire(wideRotor.getRotorRight(), wideRotor.getRotorLeft(), 69998));
+        assertEquals("S1", wideRotor.display());
+        assertEquals("S1", wideRotor.getRotorWiring().get("S1"));
+    }
+
+    // Copies share the wiring table and start where the rotor they are copied from is
+    @Test
+    void testCopyFromRotation() {
+        // Change
+        Map<String, String> wiring = new HashMap<>();
+        wiring.put("W", "Y");
+        wiring.put("X", "W");
+        wiring.put("Y", "Z");
+        wiring.put("Z", "X");
+        Rotor crossedRotor = new Rotor("crossed", Arrays.asList("W", "X", "Y", "Z"), wiring);
+        crossedRotor.rotate();
+        crossedRotor.setRingSetting(3);
+        Rotor copy = new Rotor("copy", crossedRotor);
+
+        // Test
+        assertEquals(0, copy.getRotation());
+        assertEquals(crossedRotor.getRotorRight(), copy.getRotorRight());
+        assertEquals(3, copy.getRingSetting());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(crossedRotor.passThroughWire(crossedRotor.getRotorRight(), crossedRotor.getRotorLeft(), i),
+                    copy.passThroughWire(copy.getRotorRight(), copy.getRotorLeft(), i));
+        }
+        copy.rotate();
+        assertEquals(1, crossedRotor.getRotation());
+        assertEquals("Y", copy.display());
+        assertEquals(2, copy.getRotorRight().indexOf("W"));
+        assertEquals(wiring, copy.getRotorWiring());
+        assertEquals(crossedRotor.getTableBytes(), copy.getTableBytes());
+    }
+
+    // Batch of indices at the current rotation and ring setting
+    @Test
+    void testPassThroughWireBatch() {
+        // Change
+        Map<String, String> wiring = new HashMap<>();
+        wiring.put("W", "X");
+        wiring.put("X", "Z");
+        wiring.put("Y", "W");
+        wiring.put("Z", "Y");
+        Rotor crossedRotor = new Rotor("crossed", Arrays.asList("W", "X", "Y", "Z"), wiring);
+        crossedRotor.rotate();
+        crossedRotor.rotate();
+        crossedRotor.setRingSetting(1);
+        int[] indices = {3, 2, 1, 0, 3};
+        int[] expected = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            expected[i] = crossedRotor.passThroughWire(crossedRotor.getRotorRight(), crossedRotor.getRotorLeft(),
+                    indices[i]);
+        }
+        crossedRotor.passThroughWire(indices, indices, 0, indices.length);
+
+        // Test
+        assertArrayEquals(expected, indices);
+        assertEquals(2, crossedRotor.getRotation());
+    }
+
+    // ----------------------------------------------------
+    // Test notches
+    @Test
+    void testNotches() {
+        // Test default: only the last rotation
+        assertArrayEquals(new int[] {3}, testRotor.getNotches());
+        // Change
+        testRotor.setNotches(2, 0, 2);
+
+        // Test
+        assertArrayEquals(new int[] {0, 2}, testRotor.getNotches());
+        assertTrue(testRotor.isAtNotch());
+        assertTrue(testRotor.rotate());
+        assertFalse(testRotor.isAtNotch());
+        assertFalse(testRotor.rotate());
+        assertTrue(testRotor.rotate());
+        assertFalse(testRotor.rotate());
+        assertEquals(0, testRotor.getRotation());
+        testRotor.setNotches();
+        assertFalse(testRotor.rotate());
+    }
+
+    // Test ring setting: the wiring moves back against the positions
+    @Test
+    void testRingSetting() {
+        // Change
+        Map<String, String> crossed = new HashMap<>();
+        crossed.put("W", "Y");
+        crossed.put("X", "W");
+        crossed.put("Y", "Z");
+        crossed.put("Z", "X");
+        Rotor ringRotor = new Rotor("ring", testRotorRight, crossed);
+        Rotor plainRotor = new Rotor("plain", testRotorRight, crossed);
+        ringRotor.setRingSetting(1);
+        ringRotor.rotate();
+
+        // Test
+        assertEquals(1, ringRotor.getRingSetting());
+        assertEquals("X", ringRotor.display());
+        for (int i = 0; i < fullRound; i++) {
+            assertEquals(plainRotor.passThroughWire(null, null, i), ringRotor.passThroughWire(null, null, i));
+        }
+        JSONObject rotorJson = ringRotor.toJson();
+        assertEquals(1, rotorJson.getInt("ringSetting"));
+        assertEquals(3, rotorJson.getJSONArray("notches").getInt(0));
+    }
+
+    // ----------------------------------------------------
+    // Test toJson after rotation
+    @Test
+    void testToJsonAfterRotation() {
+        // Change
+        testRotor.rotate();
+
+        // Test
+        JSONObject rotorJson = testRotor.toJson();
+        assertEquals(1, rotorJson.getInt("rotation"));
+        assertEquals("X", rotorJson.getJSONArray("rotorRight").getString(0));
+        assertEquals("W", rotorJson.getJSONArray("rotorLeft").getString(3));
+    }
 }
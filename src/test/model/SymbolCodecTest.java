@@ -0,0 +1,39 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolCodecTest {
+
+    private SymbolCodec testCodec;
+
+    @BeforeEach
+    void setup() {
+        testCodec = new SymbolCodec(Arrays.asList("W", "X", "QU", "Z"));
+    }
+
+    // Test encode and decode
+    @Test
+    void testEncodeDecode() {
+        assertEquals(4, testCodec.size());
+        assertEquals(0, testCodec.encode("W"));
+        assertEquals(2, testCodec.encode("QU"));
+        assertEquals(-1, testCodec.encode("Q"));
+        assertEquals("QU", testCodec.decode(2));
+        assertEquals('Z', testCodec.decodeChar(3));
+        assertEquals(Arrays.asList("W", "X", "QU", "Z"), testCodec.getSymbols());
+    }
+
+    // Test encode by char
+    @Test
+    void testEncodeChar() {
+        assertEquals(1, testCodec.encode('X'));
+        assertEquals(3, testCodec.encode('Z'));
+        assertEquals(-1, testCodec.encode('Q'));
+        assertEquals(-1, testCodec.encode('A'));
+        assertEquals(-1, testCodec.encode('\u4e2d'));
+    }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolTokenizerTest {
+
+    private SymbolCodec testCodec;
+
+    @BeforeEach
+    void setup() {
+        testCodec = new SymbolCodec(Arrays.asList("A", "B", "AB", "ABCD", "THE", "\u4e2d"));
+    }
+
+    // EFFECTS: return a tokenizer of text over the test codec
+    private SymbolTokenizer tokenizer(String text, SymbolTokenizer.UnknownCharacters unknownCharacters) {
+        return new SymbolTokenizer(new StringReader(text), testCodec, unknownCharacters);
+    }
+
+    // Test next
+    // Longest match first, falling back to shorter symbols
+    @Test
+    void testNextLongestMatch() throws IOException {
+        SymbolTokenizer tokenizer = tokenizer("ABCDABCABA\u4e2d", SymbolTokenizer.UnknownCharacters.SKIP);
+        assertEquals(3, tokenizer.next());
+        assertEquals(2, tokenizer.next());
+        assertEquals(2, tokenizer.next());
+        assertEquals(0, tokenizer.next());
+        assertEquals(5, tokenizer.next());
+        assertEquals(SymbolTokenizer.END, tokenizer.next());
+        assertEquals(SymbolTokenizer.END, tokenizer.next());
+        assertEquals(11, tokenizer.getOffset());
+    }
+
+    // Unknown characters passed through
+    @Test
+    void testNextPassThrough() throws IOException {
+        SymbolTokenizer tokenizer = tokenizer("TH THE!", SymbolTokenizer.UnknownCharacters.PASS_THROUGH);
+        assertEquals(SymbolTokenizer.UNKNOWN, tokenizer.next());
+        assertEquals('T', tokenizer.getUnknown());
+        assertEquals(Arrays.asList("H", " ", "THE", "!"), tokenizer.readSymbols());
+    }
+
+    // Unknown characters as errors
+    @Test
+    void testNextError() throws IOException {
+        SymbolTokenizer tokenizer = tokenizer("ABx", SymbolTokenizer.UnknownCharacters.ERROR);
+        assertEquals(2, tokenizer.next());
+        try {
+            tokenizer.next();
+            fail("IOException should have been thrown");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("offset 2"));
+        }
+    }
+
+    // Symbols split across reads of a slow reader, and a text longer than the buffer
+    @Test
+    void testReadSymbolsStreaming() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i += 1) {
+            text.append("ABCD-THE-");
+        }
+        Reader slow = new StringReader(text.toString()) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 3));
+            }
+        };
+        List<String> symbols = new SymbolTokenizer(slow, testCodec, SymbolTokenizer.UnknownCharacters.SKIP)
+                .readSymbols();
+        assertEquals(6000, symbols.size());
+        assertEquals("ABCD", symbols.get(0));
+        assertEquals("THE", symbols.get(5999));
+    }
+
+    // Tokens encrypted with the codes of an Enigma
+    @Test
+    void testTokenizeForEnigma() throws IOException {
+        Enigma enigma = new Enigma(new HashSet<>(Arrays.asList("QU", "Q", "E", "EE")));
+        List<String> symbols = new SymbolTokenizer(new StringReader("QUEEQ E"), enigma,
+                SymbolTokenizer.UnknownCharacters.SKIP).readSymbols();
+        assertEquals(Arrays.asList("QU", "EE", "Q", "E"), symbols);
+        assertEquals(4, enigma.encryptMessage(symbols).size());
+    }
+}
@@ -0,0 +1,27 @@
+package model;
+
+import java.util.*;
+
+/*
+Machines shared by the tests of the compiled Enigma machines.
+ */
+final class TestEnigmas {
+
+    private TestEnigmas() {
+    }
+
+    // REQUIRES: shift is not a multiple of 6
+    // EFFECTS: return an Enigma over the inputs A to F with the default rotor and a rotor with
+    //          crossed wiring in its box; the crossed rotor lists the inputs out of order and
+    //          wires each to the one shift places after it in that order
+    static Enigma withCrossedRotor(int shift) {
+        Enigma enigma = new Enigma(new HashSet<>(Arrays.asList("A", "B", "C", "D", "E", "F")));
+        List<String> rotorIO = Arrays.asList("C", "A", "F", "B", "E", "D");
+        Map<String, String> wiring = new HashMap<>();
+        for (int i = 0; i < rotorIO.size(); i += 1) {
+            wiring.put(rotorIO.get(i), rotorIO.get((i + shift) % rotorIO.size()));
+        }
+        enigma.getRotorBox().addRotors(new Rotor("crossed", rotorIO, wiring));
+        return enigma;
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextPipelineTest {
+
+    private Enigma testEnigma;
+
+    @BeforeEach
+    void setup() {
+        HashSet<String> io = new HashSet<>();
+        for (char c = 'A'; c <= 'Z'; c += 1) {
+            io.add(String.valueOf(c));
+        }
+        testEnigma = new Enigma(io);
+        testEnigma.retrieveRotor(1, "Default 1");
+        testEnigma.retrieveRotor(1, "Default 2");
+    }
+
+    // Test process
+    // Formatting stages only
+    @Test
+    void testProcessFormatting() {
+        TextPipeline pipeline = new TextPipeline(TextStage.upperCase(), TextStage.historicalSubstitutes(),
+                TextStage.keepOnly(testEnigma), TextStage.group(5, ' '));
+        assertEquals("ATTAC KXATX NULLF UNFNU LLNUL L", pipeline.process("Attack at 0500!"));
+        assertEquals("ABCDE", pipeline.process("abcde"));
+        assertEquals("NULLEINSZWODREIVIERFUNFSECHSSIEBENACHTNEUN",
+                new TextPipeline(TextStage.historicalSubstitutes()).process("0123456789"));
+        assertEquals("", new TextPipeline().process(""));
+        assertEquals("a1", new TextPipeline().process("a1"));
+    }
+
+    // Encryption fused with formatting, and decryption of the grouped ciphertext
+    @Test
+    void testProcessEncryptDecrypt() {
+        Enigma decryptor = testEnigma.fork();
+        TextPipeline encrypt = new TextPipeline(TextStage.upperCase(), TextStage.historicalSubstitutes(),
+                TextStage.keepOnly(testEnigma), TextStage.encrypt(testEnigma), TextStage.group(5, ' '));
+        TextPipeline decrypt = new TextPipeline(TextStage.keepOnly(decryptor), TextStage.encrypt(decryptor));
+        String ciphertext = encrypt.process("Meet at 9");
+        assertEquals(14, ciphertext.length());
+        assertEquals(' ', ciphertext.charAt(5));
+        assertEquals("MEETXATXNEUN", decrypt.process(ciphertext));
+        assertEquals(12, testEnigma.getPosition());
+        assertEquals("", testEnigma.getOriginalMessage());
+    }
+
+    // Buffers processed in parts give the same output as the whole message
+    @Test
+    void testProcessBuffers() {
+        String text = "the quick brown fox jumps over the lazy dog 1234567890";
+        String whole = new TextPipeline(TextStage.upperCase(), TextStage.historicalSubstitutes(),
+                TextStage.keepOnly(testEnigma), TextStage.group(5, ' ')).process(text);
+        TextPipeline pipeline = new TextPipeline(TextStage.upperCase(), TextStage.historicalSubstitutes(),
+                TextStage.keepOnly(testEnigma), TextStage.group(5, ' '));
+        char[] input = text.toCharArray();
+        StringBuilder parts = new StringBuilder();
+        for (int from = 0; from < input.length; from += 7) {
+            int count = pipeline.process(input, from, Math.min(7, input.length - from));
+            parts.append(pipeline.getOutput(), 0, count);
+        }
+        assertEquals(0, pipeline.finish());
+        assertEquals(whole, parts.toString());
+        assertEquals("THEXQ", whole.substring(0, 5));
+    }
+}
@@ -0,0 +1,81 @@
+package persistence;
+
+import model.CompiledEnigma;
+import model.Enigma;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnigmaFileEncryptorTest {
+
+    private Enigma testEnigma;
+    private HashSet<String> testIO = new HashSet<>();
+
+    @BeforeEach
+    void setup() {
+        testIO.add("W");
+        testIO.add("X");
+        testIO.add("Y");
+        testIO.add("Z");
+
+        testEnigma = new Enigma(testIO);
+        testEnigma.retrieveRotor(1, "Rotor_A");
+        testEnigma.retrieveRotor(1, "Rotor_B");
+    }
+
+    // Test invalid source
+    @Test
+    void testInvalidSource() {
+        try {
+            new EnigmaFileEncryptor(testEnigma.compile()).encrypt("./data/testJsonFiles/noFile.txt",
+                    "./data/testJsonFiles/noFile.out");
+            fail("Should not pass!");
+        } catch (IOException e) {
+            System.out.println("Invalid file source!");
+        }
+    }
+
+    // Test machines with inputs that are not single bytes
+    @Test
+    void testInputsNotBytes() {
+        Enigma wide = new Enigma(new HashSet<>(Arrays.asList("W", "X", "\u4e2d", "Z")));
+        Enigma digraphs = new Enigma(new HashSet<>(Arrays.asList("W", "X", "YZ", "Z")));
+
+        // Test
+        assertThrows(IllegalArgumentException.class, () -> new EnigmaFileEncryptor(wide.compile()));
+        assertThrows(IllegalArgumentException.class, () -> new EnigmaFileEncryptor(digraphs.compile()));
+    }
+
+    // Test file spanning several regions, non-inputs are copied
+    @Test
+    void testEncryptSeveralRegions() throws IOException {
+        File source = File.createTempFile("enigma", ".txt");
+        File destination = File.createTempFile("enigma", ".out");
+        source.deleteOnExit();
+        destination.deleteOnExit();
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 10000; i += 1) {
+            message.append("WXYZ \u00e9".charAt((i * 7 + i / 11) % 6));
+        }
+        Files.write(source.toPath(), message.toString().getBytes(StandardCharsets.ISO_8859_1));
+        CompiledEnigma compiled = testEnigma.compile();
+
+        // Test
+        assertEquals(10000, new EnigmaFileEncryptor(compiled, 4096).encrypt(source.getPath(),
+                destination.getPath()));
+        String encrypted = new String(Files.readAllBytes(destination.toPath()), StandardCharsets.ISO_8859_1);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < message.length(); i += 1) {
+            String s = String.valueOf(message.charAt(i));
+            expected.append(testIO.contains(s) ? testEnigma.encrypt(s) : s);
+        }
+        assertEquals(expected.toString(), encrypted);
+    }
+}
@@ -88,6 +88,9 @@ public class JsonSaverTest {
     void testGeneralSetup() {
         testEnigma.retrieveRotor(1, "Rotor_A");
         testEnigma.retrieveRotor(1, "ROTOR_DEFAULT");
+        testEnigma.getPlugboard().connect("X", "Z");
+        testEnigma.getRotorsToUse().get(0).setNotches(1, 2);
+        testEnigma.getRotorsToUse().get(1).setRingSetting(3);
         testEnigma.encrypt("W");
         testEnigma.encrypt("X");
         testEnigma.encrypt("Y");
@@ -116,6 +119,37 @@ public class JsonSaverTest {
                     loadEnigma.getRotorsToUse().get(0).getRotation());
             assertEquals(testEnigma.getRotorsToUse().get(1).getRotation(),
                     loadEnigma.getRotorsToUse().get(1).getRotation());
+            assertEquals("Z", loadEnigma.getPlugboard().getConnections().get("X"));
+            assertEquals("W", loadEnigma.getPlugboard().getConnections().get("W"));
+            assertArrayEquals(new int[] {1, 2}, loadEnigma.getRotorsToUse().get(0).getNotches());
+            assertEquals(3, loadEnigma.getRotorsToUse().get(1).getRingSetting());
+        } catch (FileNotFoundException e) {
+            fail("Proper file exists, should not throw this exception!");
+        } catch (IOException e) {
+            fail("Proper IO, should not throw this exception!");
+        }
+    }
+
+    // Test rotated rotors keep their positions
+    @Test
+    void testRotatedRotorSetup() {
+        testEnigma.retrieveRotor(1, "Rotor_A");
+        testEnigma.encrypt("W");
+        testEnigma.encrypt("X");
+        testEnigma.encrypt("Y");
+        try {
+            final String FILE = "./data/testJsonFiles/testGeneralSave.json";
+            testJsonSaver = new JsonSaver(FILE);
+            testJsonSaver.open();
+            testJsonSaver.write(testEnigma);
+            testJsonSaver.close();
+
+            // Test by reading it
+            JsonLoader testJsonLoader = new JsonLoader(FILE);
+            Enigma loadEnigma = testJsonLoader.read();
+            assertEquals(3, loadEnigma.getRotorsToUse().get(0).getRotation());
+            assertEquals(testEnigma.getRotorsToUse().get(0).getRotorRight(),
+                    loadEnigma.getRotorsToUse().get(0).getRotorRight());
         } catch (FileNotFoundException e) {
             fail("Proper file exists, should not throw this exception!");
         } catch (IOException e) {